@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * AspectJ aspect applying data blur functionality on method arguments and return values.
+ * <p>
+ * This is the woven counterpart of {@link BlurMethodInterceptor}: call sites are woven inline by the AspectJ
+ * compiler or by load-time weaving, so there is no proxy dispatch nor {@code ReflectiveMethodInvocation} per call,
+ * and self-invocations and non-public methods are blurred as well. Set {@code blur.mode} to {@code aspectj} to
+ * switch the proxy-based blur advisor off when using this aspect.
+ * </p>
+ * <p>
+ * The aspect is abstract, the methods to blur are selected by implementing {@link #blurExecution()}. For
+ * compile-time weaving, extend it in the application:
+ * </p>
+ * <pre>{@code
+ * @Aspect
+ * public class ApplicationBlurAspect extends AbstractBlurAspect {
+ *
+ *     @Override
+ *     @Pointcut("execution(* com.example..*.*(..))")
+ *     public void blurExecution() {
+ *     }
+ * }
+ * }</pre>
+ * <p>
+ * For load-time weaving with {@code -javaagent:aspectjweaver.jar}, declare a concrete aspect in {@code META-INF/aop.xml}:
+ * </p>
+ * <pre>{@code
+ * <aspectj>
+ *     <aspects>
+ *         <concrete-aspect name="com.example.ApplicationBlurAspect" extends="io.allurx.blur.spring.boot.autoconfigure.AbstractBlurAspect">
+ *             <pointcut name="blurExecution" expression="execution(* com.example..*.*(..))"/>
+ *         </concrete-aspect>
+ *     </aspects>
+ * </aspectj>
+ * }</pre>
+ * <p>
+ * A woven aspect is instantiated by AspectJ rather than by an application context, so its plans are not owned by
+ * one unless the aspect instance is declared as a bean, e.g.
+ * {@code @Bean ApplicationBlurAspect blurAspect() { return Aspects.aspectOf(ApplicationBlurAspect.class); }}, in
+ * which case the context is injected as an {@link ApplicationContextAware}. Otherwise the values are dispatched to
+ * the type parsers of the context bound by the caller or of the only context registered with the
+ * {@link TypeParserRegistry}, and blurring fails while several contexts are running.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurMethodInterceptor
+ * @see MethodBlurPlan
+ * @see BlurProperties.Mode#ASPECTJ
+ */
+@Aspect
+public abstract class AbstractBlurAspect implements ApplicationContextAware {
+
+    private final ConcurrentMap<Method, MethodBlurPlan> plans = new ConcurrentHashMap<>();
+
+    private volatile ApplicationContext context;
+
+    /**
+     * Default constructor
+     */
+    protected AbstractBlurAspect() {
+    }
+
+    /**
+     * Makes the given application context the owner of the blurred values, dropping the plans computed without it.
+     *
+     * @param context the application context owning the aspect
+     */
+    @Override
+    public void setApplicationContext(ApplicationContext context) {
+        this.context = context;
+        plans.clear();
+    }
+
+    /**
+     * Pointcut selecting the methods whose arguments and return values are blurred.
+     */
+    @Pointcut
+    public abstract void blurExecution();
+
+    /**
+     * Blurs the arguments and the return value of the advised method according to its blur plan.
+     *
+     * @param joinPoint the join point of the advised method
+     * @return the blurred return value
+     * @throws Throwable if the advised method throws
+     */
+    @Around("blurExecution()")
+    public Object blur(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodBlurPlan plan = MethodBlurPlan.cached(plans, ((MethodSignature) joinPoint.getSignature()).getMethod(), true, context);
+        if (plan.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        Object[] arguments = joinPoint.getArgs();
+        plan.blurArguments(arguments);
+        return plan.blurReturnValue(joinPoint.proceed(arguments));
+    }
+}
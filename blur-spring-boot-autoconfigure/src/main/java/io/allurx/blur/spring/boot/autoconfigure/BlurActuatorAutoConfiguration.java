@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Autoconfiguration class that exposes the {@link BlurEndpoint} when Spring Boot Actuator is on the classpath
+ * and the blur configuration is refreshable.
+ *
+ * @author allurx
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass({Endpoint.class, ConditionalOnAvailableEndpoint.class})
+@ConditionalOnBean(BlurConfigurationRefresher.class)
+public class BlurActuatorAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurActuatorAutoConfiguration() {
+    }
+
+    /**
+     * Registers the actuator endpoint refreshing the blur configuration.
+     *
+     * @param refresher the refresher of the blur configuration
+     * @return the {@link BlurEndpoint}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint
+    public BlurEndpoint blurEndpoint(BlurConfigurationRefresher refresher) {
+        return new BlurEndpoint(refresher);
+    }
+}
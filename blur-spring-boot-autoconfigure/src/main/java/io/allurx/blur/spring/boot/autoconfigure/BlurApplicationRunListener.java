@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.TypeParser;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listener for Spring Boot application startup events, preparing blurring for each started application context.
+ * <p>
+ * It holds no state across the startup phases, so applications can be started concurrently on any thread.
+ * While the context is refreshed, it is bound to the starting thread in the {@link TypeParserRegistry}, so that
+ * the blur handles built by its beans are owned by it. Once the application has started, it registers all
+ * {@link TypeParser} beans in the {@link TypeParserRegistry} for the lifetime of the context, and once it is ready,
+ * it warms up the blur plans of advised methods.
+ * </p>
+ *
+ * @author allurx
+ */
+public class BlurApplicationRunListener implements SpringApplicationRunListener {
+
+    /**
+     * Default constructor
+     */
+    public BlurApplicationRunListener() {
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        TypeParserRegistry.getInstance().bind(context);
+    }
+
+    @Override
+    public void failed(ConfigurableApplicationContext context, Throwable exception) {
+        TypeParserRegistry.getInstance().unbind(context);
+    }
+
+    @Override
+    public void started(ConfigurableApplicationContext context, Duration timeTaken) {
+        // Register all TypeParsers of this context before any runner starts blurring, and remove them once the context is closed
+        List<TypeParser<?, ?>> typeParsers = new ArrayList<>();
+        context.getBeanProvider(TypeParser.class).orderedStream().forEach(typeParsers::add);
+        TypeParserRegistry registry = TypeParserRegistry.getInstance();
+        registry.unbind(context);
+        registry.register(context, typeParsers);
+        context.addApplicationListener(event -> {
+            if (event instanceof ContextClosedEvent contextClosedEvent && contextClosedEvent.getApplicationContext() == context) {
+                registry.deregister(context);
+            }
+        });
+    }
+
+    @Override
+    public void ready(ConfigurableApplicationContext context, Duration timeTaken) {
+        // Compute the blur plans of all advised methods ahead of the first request
+        context.getBeanProvider(BlurProperties.class)
+                .ifAvailable(blurProperties -> new BlurPlanWarmer(context, blurProperties.getWarmUp()).warmUp());
+    }
+}
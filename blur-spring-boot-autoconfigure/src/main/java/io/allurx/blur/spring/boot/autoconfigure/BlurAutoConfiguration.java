@@ -18,17 +18,32 @@ package io.allurx.blur.spring.boot.autoconfigure;
 
 import io.allurx.annotation.parser.type.TypeParser;
 import org.springframework.aop.Advisor;
-import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
-import org.springframework.boot.SpringApplication;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.env.Environment;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Autoconfiguration class for enabling blur functionality, which includes data masking,
@@ -44,9 +59,9 @@ import java.util.Optional;
 @EnableConfigurationProperties(BlurProperties.class)
 public class BlurAutoConfiguration {
 
-    private static final String BLUR_ADVISOR = "blurAdvisor";
+    static final String BLUR_ADVISOR = "blurAdvisor";
+    static final String BLUR_REQUEST_BODY_ADVICE = "blurRequestBodyAdvice";
     private final BlurProperties blurProperties;
-    static final ThreadLocal<SpringApplication> SPRING_APPLICATION_HOLDER = new ThreadLocal<>();
 
     /**
      * Constructor for {@link BlurAutoConfiguration}.
@@ -59,40 +74,235 @@ public class BlurAutoConfiguration {
 
     /**
      * Defines a bean for the blur advisor, which applies data masking and obfuscation
-     * advice to methods matched by the pointcut expression.
+     * advice to methods matched by the pointcut expression. Not registered when {@code blur.mode} is
+     * {@link BlurProperties.Mode#ASPECTJ}, in which case an {@link AbstractBlurAspect} is woven instead. Request body
+     * parameters are left to the {@link BlurRequestBodyAdvice} when it is registered. When {@code blur.refresh.enabled}
+     * is set, every method of the beans matched at startup, and of the beans declared in the auto-configuration
+     * packages, is advised and the interceptor checks the current pointcut, so that the
+     * {@link BlurConfigurationRefresher} can change it at runtime, including widening it within those packages.
      *
+     * @param beanFactory        the bean factory holding the auto-configuration packages
+     * @param tenantBlurPolicies the provider of the optional per-tenant blur policies, resolved on first interception
+     * @param context            the application context whose type parsers blur the intercepted values
      * @return a configured {@link Advisor} with pointcut and advice set up
      */
     @Bean
     @ConditionalOnMissingBean(name = BLUR_ADVISOR)
-    public Advisor blurAdvisor() {
-        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
-        advisor.setAdvice(new BlurMethodInterceptor());
-        advisor.setExpression(pointcutExpression());
+    @ConditionalOnProperty(prefix = "blur", name = "mode", havingValue = "proxy", matchIfMissing = true)
+    public Advisor blurAdvisor(BeanFactory beanFactory, ObjectProvider<TenantBlurPolicies> tenantBlurPolicies, ApplicationContext context) {
+        AspectJExpressionPointcut pointcut = blurPointcut(pointcutExpression(blurProperties, beanFactory), beanFactory);
+        boolean refreshable = blurProperties.getRefresh().isEnabled();
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                refreshable ? new ComposablePointcut(ClassFilters.union(pointcut.getClassFilter(), autoConfigurationPackagesFilter(beanFactory))) : pointcut,
+                new BlurMethodInterceptor(
+                        tenantBlurPolicies::getIfAvailable,
+                        () -> !beanFactory.containsBean(BLUR_REQUEST_BODY_ADVICE),
+                        pointcut,
+                        refreshable,
+                        context));
+        advisor.setOrder(blurProperties.getOrder());
         return advisor;
     }
 
     /**
-     * Registers a type parser bean for {@link ResponseEntity} to handle annotated type
-     * resolution during runtime, enabling enhanced blur functionality.
+     * Registers the {@link BlurConfigurationRefresher} re-reading the pointcut expression and the tenant policies at
+     * runtime, when {@code blur.refresh.enabled} is set and the proxy-based blur advisor is used.
      *
-     * @return a {@link TypeParser} implementation for {@link ResponseEntity} types
+     * @param environment        the environment the blur properties are re-bound from
+     * @param beanFactory        the bean factory holding the blur advisor
+     * @param tenantBlurPolicies the provider of the optional per-tenant blur policies
+     * @return the {@link BlurConfigurationRefresher}
      */
     @Bean
-    public TypeParser<ResponseEntity<Object>, AnnotatedParameterizedType> responseEntityResolver() {
-        return new ResponseEntityTypeParser();
+    @ConditionalOnBean(name = BLUR_ADVISOR)
+    @ConditionalOnProperty(prefix = "blur", name = "refresh.enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public BlurConfigurationRefresher blurConfigurationRefresher(Environment environment,
+                                                                 BeanFactory beanFactory,
+                                                                 ObjectProvider<TenantBlurPolicies> tenantBlurPolicies) {
+        Advisor advisor = beanFactory.getBean(BLUR_ADVISOR, Advisor.class);
+        Assert.state(advisor.getAdvice() instanceof BlurMethodInterceptor, "The blur advisor must advise with a BlurMethodInterceptor to be refreshed");
+        return new BlurConfigurationRefresher(
+                environment,
+                beanFactory,
+                (BlurMethodInterceptor) advisor.getAdvice(),
+                tenantBlurPolicies::getIfAvailable,
+                advisor instanceof PointcutAdvisor pointcutAdvisor ? pointcutAdvisor.getPointcut().getClassFilter() : ClassFilter.TRUE);
     }
 
     /**
-     * Retrieves the pointcut expression used for data blur application. If a custom
-     * expression is not configured, defaults to targeting all methods in the main application package.
+     * Registers the {@link WrapperTypeRegistry} holding {@link java.util.Optional}, {@link org.springframework.http.HttpEntity},
+     * {@link org.springframework.http.RequestEntity} and {@link org.springframework.http.ResponseEntity}, the wrapper
+     * types declared in {@code blur.wrappers} and those registered by {@link WrapperTypeRegistryCustomizer} beans.
      *
+     * @param customizers the customizers of the registry
+     * @return the {@link WrapperTypeRegistry}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public WrapperTypeRegistry wrapperTypeRegistry(ObjectProvider<WrapperTypeRegistryCustomizer> customizers) {
+        WrapperTypeRegistry.Builder builder = WrapperTypeRegistry.builder().withDefaults();
+        blurProperties.getWrappers().forEach(wrapper -> builder.wrapper(
+                wrapper.getType(),
+                wrapper.getPayloadAccessor(),
+                wrapper.getTypeArgumentIndex(),
+                wrapper.getRebuild()));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+
+    /**
+     * Registers a type parser bean blurring the payload of the wrapper types held by the {@link WrapperTypeRegistry}.
+     *
+     * @param wrapperTypeRegistry the registry of the wrapper types
+     * @return a {@link TypeParser} implementation for wrapper types
+     */
+    @Bean
+    @ConditionalOnMissingBean(WrapperTypeParser.class)
+    public TypeParser<Object, AnnotatedParameterizedType> wrapperTypeParser(WrapperTypeRegistry wrapperTypeRegistry) {
+        return new WrapperTypeParser(wrapperTypeRegistry);
+    }
+
+    /**
+     * Registers a type parser bean masking {@code char[]}, {@link StringBuilder}, {@link StringBuffer} and
+     * {@link java.nio.CharBuffer} values in place, with the same annotation semantics as {@link String}.
+     *
+     * @return a {@link TypeParser} implementation for mutable character sequences
+     */
+    @Bean
+    @ConditionalOnMissingBean(CharSequenceTypeParser.class)
+    public TypeParser<Object, AnnotatedType> charSequenceTypeParser() {
+        return new CharSequenceTypeParser();
+    }
+
+    /**
+     * Registers a type parser bean rebuilding {@code @Cascade} records through their canonical constructor.
+     *
+     * @return a {@link TypeParser} implementation for {@link Record} types
+     */
+    @Bean
+    @ConditionalOnMissingBean(RecordTypeParser.class)
+    public TypeParser<Record, AnnotatedType> recordTypeParser() {
+        return new RecordTypeParser();
+    }
+
+    /**
+     * Registers a type parser bean replacing values annotated with {@link Pseudonymize} by keyed pseudonyms.
+     * The key is taken from the {@link KeyProvider} bean if any, otherwise from the {@code blur.pseudonymization.key}
+     * property, and is only required once a value is actually pseudonymized.
+     *
+     * @param keyProvider the provider of the optional {@link KeyProvider} bean
+     * @return a {@link TypeParser} implementation for {@link Pseudonymize} annotated values
+     */
+    @Bean
+    @ConditionalOnMissingBean(PseudonymizeTypeParser.class)
+    public TypeParser<String, AnnotatedType> pseudonymizeTypeParser(ObjectProvider<KeyProvider> keyProvider) {
+        BlurProperties.Pseudonymization pseudonymization = blurProperties.getPseudonymization();
+        return new PseudonymizeTypeParser(() -> new Pseudonymizer(
+                keyProvider.getIfAvailable(() -> () -> propertyKey(pseudonymization)).getKey(),
+                pseudonymization.getTokenBytes(),
+                pseudonymization.getCacheSize()));
+    }
+
+    /**
+     * Registers the per-tenant blur policies compiled from {@code blur.tenants}, when a {@link TenantResolver} bean is declared.
+     *
+     * @param tenantResolver the resolver of the current tenant
+     * @return the {@link TenantBlurPolicies}
+     */
+    @Bean
+    @ConditionalOnBean(TenantResolver.class)
+    @ConditionalOnMissingBean
+    public TenantBlurPolicies tenantBlurPolicies(TenantResolver tenantResolver) {
+        return new TenantBlurPolicies(tenantResolver, blurProperties.getTenants());
+    }
+
+    /**
+     * Registers a type parser bean leaving untouched the values excluded by the current tenant's policy.
+     *
+     * @return a {@link TypeParser} implementation applying tenant exclusions
+     */
+    @Bean
+    @ConditionalOnBean(TenantResolver.class)
+    @ConditionalOnMissingBean(TenantPolicyTypeParser.class)
+    public TypeParser<Object, AnnotatedType> tenantPolicyTypeParser() {
+        return new TenantPolicyTypeParser();
+    }
+
+    /**
+     * Registers the {@link BlurTemplate} for programmatic, high-volume blurring outside of method interception.
+     *
+     * @param context the application context whose type parsers blur the values
+     * @return a {@link BlurTemplate} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public BlurTemplate blurTemplate(ApplicationContext context) {
+        return new BlurTemplate(context);
+    }
+
+    /**
+     * Retrieves the pointcut expression used for data blur application. If a custom expression is not configured,
+     * defaults to targeting all methods in the auto-configuration packages, which is the package of the class
+     * annotated with {@code @SpringBootApplication} unless configured otherwise.
+     * <p>
+     * The packages are resolved from the bean factory itself rather than from the {@link org.springframework.boot.SpringApplication}
+     * that is being run, so contexts can be bootstrapped concurrently and on any thread.
+     * </p>
+     *
+     * @param blurProperties the blur properties holding the configured pointcut expression
+     * @param beanFactory    the bean factory holding the auto-configuration packages
      * @return the pointcut expression string for data blur operations
      */
-    private String pointcutExpression() {
-        SpringApplication springApplication = SPRING_APPLICATION_HOLDER.get();
-        Assert.notNull(springApplication, () -> "Failed to retrieve SpringApplication. The current project may not be a Spring Boot application.");
+    static String pointcutExpression(BlurProperties blurProperties, BeanFactory beanFactory) {
         return Optional.ofNullable(blurProperties.getPointcutExpression())
-                .orElse("execution(* " + springApplication.getMainApplicationClass().getPackage().getName() + "..*.*(..))");
+                .orElseGet(() -> {
+                    Assert.state(AutoConfigurationPackages.has(beanFactory), "Failed to retrieve the auto-configuration packages. The current project may not be a Spring Boot application.");
+                    return AutoConfigurationPackages.get(beanFactory).stream()
+                            .map(packageName -> "execution(* " + packageName + "..*.*(..))")
+                            .collect(Collectors.joining(" || "));
+                });
+    }
+
+    /**
+     * Creates the class filter matching the classes declared in the auto-configuration packages or their subpackages,
+     * which the default pointcut expression covers.
+     *
+     * @param beanFactory the bean factory holding the auto-configuration packages
+     * @return the class filter of the auto-configuration packages, matching no class if there are none
+     */
+    static ClassFilter autoConfigurationPackagesFilter(BeanFactory beanFactory) {
+        List<String> packages = AutoConfigurationPackages.has(beanFactory) ?
+                AutoConfigurationPackages.get(beanFactory).stream().map(packageName -> packageName + ".").toList() :
+                List.of();
+        return type -> packages.stream().anyMatch(type.getName()::startsWith);
+    }
+
+    /**
+     * Creates the blur pointcut of the given expression, parsing the expression eagerly so that an invalid
+     * expression fails here rather than on the first match.
+     *
+     * @param expression  the pointcut expression
+     * @param beanFactory the bean factory resolving {@code bean()} designators
+     * @return the blur pointcut
+     */
+    static AspectJExpressionPointcut blurPointcut(String expression, BeanFactory beanFactory) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(expression);
+        pointcut.setBeanFactory(beanFactory);
+        pointcut.getPointcutExpression();
+        return pointcut;
+    }
+
+    /**
+     * Retrieves the pseudonymization key configured by the {@code blur.pseudonymization.key} property.
+     *
+     * @param pseudonymization the pseudonymization configuration
+     * @return the raw bytes of the configured key
+     */
+    private static byte[] propertyKey(BlurProperties.Pseudonymization pseudonymization) {
+        Assert.state(StringUtils.hasText(pseudonymization.getKey()),
+                "@Pseudonymize requires either the blur.pseudonymization.key property or a KeyProvider bean");
+        return pseudonymization.getKey().getBytes(StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Autoconfiguration class that exposes blurring Spring Batch components when Spring Batch is on the classpath.
+ *
+ * @author allurx
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(ItemProcessor.class)
+public class BlurBatchAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurBatchAutoConfiguration() {
+    }
+
+    /**
+     * Registers the factory of blurring item processors and writers.
+     *
+     * @param blurTemplate the template compiling the blur handles
+     * @return a {@link BlurItemFactory}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public BlurItemFactory blurItemFactory(BlurTemplate blurTemplate) {
+        return new BlurItemFactory(blurTemplate);
+    }
+}
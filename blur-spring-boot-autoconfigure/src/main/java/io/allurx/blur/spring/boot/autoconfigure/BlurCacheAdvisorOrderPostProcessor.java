@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.interceptor.BeanFactoryCacheOperationSourceAdvisor;
+import org.springframework.core.Ordered;
+
+/**
+ * {@link BeanPostProcessor} that orders the Spring cache advisor ahead of the blur advisor.
+ * <p>
+ * When a blurred method is also {@code @Cacheable}, the cache interceptor has to wrap the blur interceptor:
+ * the cache then stores the blurred return value and serves it directly on every hit, instead of storing the
+ * raw value and having it blurred again on each call. Ordering the advisors this way also guarantees that raw
+ * return values are never put into the cache.
+ * </p>
+ * <p>
+ * If the cache advisor does not already have a higher precedence than the blur advisor, its order is
+ * lowered to just ahead of the blur advisor. Its advice is then wrapped in a {@link BlurCacheInterceptor}, so that
+ * values returned under a tenant policy that does not blur everything, and lazy views, are never cached.
+ * </p>
+ *
+ * @author allurx
+ * @see BeanFactoryCacheOperationSourceAdvisor
+ */
+public class BlurCacheAdvisorOrderPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final Log LOG = LogFactory.getLog(BlurCacheAdvisorOrderPostProcessor.class);
+    private final int blurAdvisorOrder;
+    private BeanFactory beanFactory;
+
+    /**
+     * Constructs a new BlurCacheAdvisorOrderPostProcessor.
+     *
+     * @param blurAdvisorOrder the order of the blur advisor
+     */
+    public BlurCacheAdvisorOrderPostProcessor(int blurAdvisorOrder) {
+        this.blurAdvisorOrder = blurAdvisorOrder;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof BeanFactoryCacheOperationSourceAdvisor advisor) {
+            if (advisor.getOrder() >= blurAdvisorOrder) {
+                if (blurAdvisorOrder == Ordered.HIGHEST_PRECEDENCE) {
+                    LOG.warn("The blur advisor has the highest precedence, cached return values of blurred methods will be blurred on every cache hit.");
+                    return bean;
+                }
+                advisor.setOrder(blurAdvisorOrder - 1);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Ordered cache advisor '" + beanName + "' ahead of the blur advisor with order " + (blurAdvisorOrder - 1));
+                }
+            }
+            if (advisor.getAdvice() instanceof MethodInterceptor cacheInterceptor && !(cacheInterceptor instanceof BlurCacheInterceptor)) {
+                advisor.setAdvice(new BlurCacheInterceptor(cacheInterceptor, this::blurInterceptor));
+            }
+        }
+        return bean;
+    }
+
+    private BlurMethodInterceptor blurInterceptor() {
+        return beanFactory != null &&
+                beanFactory.containsBean(BlurAutoConfiguration.BLUR_ADVISOR) &&
+                beanFactory.getBean(BlurAutoConfiguration.BLUR_ADVISOR, Advisor.class).getAdvice() instanceof BlurMethodInterceptor interceptor ?
+                interceptor :
+                null;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Autoconfiguration class integrating blur functionality with Spring's cache abstraction.
+ * <p>
+ * Orders the cache advisor ahead of the blur advisor so that {@code @Cacheable} methods cache
+ * their blurred return values.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurCacheAdvisorOrderPostProcessor
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(CacheInterceptor.class)
+public class BlurCacheAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurCacheAutoConfiguration() {
+    }
+
+    /**
+     * Registers the post processor ordering the cache advisor ahead of the blur advisor.
+     * Declared static so that it does not trigger early initialization of this configuration,
+     * which is also why the order of the blur advisor is bound from the {@link Environment} directly.
+     *
+     * @param environment the environment holding the blur properties
+     * @return a {@link BeanPostProcessor} ordering the cache advisor
+     */
+    @Bean
+    public static BeanPostProcessor blurCacheAdvisorOrderPostProcessor(Environment environment) {
+        int blurAdvisorOrder = Binder.get(environment).bind("blur.order", Integer.class).orElse(BlurProperties.DEFAULT_ORDER);
+        return new BlurCacheAdvisorOrderPostProcessor(blurAdvisorOrder);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.interceptor.CacheAspectSupport;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheOperationSource;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Interceptor wrapping the Spring cache interceptor of methods whose return value is blurred.
+ * <p>
+ * The cache interceptor wraps the blur interceptor, so it caches whatever the blur interceptor returned. A value
+ * returned under a {@link TenantBlurPolicy} that does not blur everything is raw or partly blurred, and a
+ * {@link BlurLazily} view keeps a reference to the raw value, while cache keys do not depend on the tenant. Such
+ * invocations therefore bypass the cache altogether: they neither read nor write it, so raw values are never put
+ * into the cache nor served to other tenants.
+ * </p>
+ * <p>
+ * The names of the caches used by methods whose return value is blurred are recorded, so that the
+ * {@link BlurConfigurationRefresher} can evict them once a refreshed configuration changes what those methods return.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurCacheAdvisorOrderPostProcessor
+ */
+public class BlurCacheInterceptor implements MethodInterceptor {
+
+    private final MethodInterceptor cacheInterceptor;
+
+    private final SingletonSupplier<Optional<BlurMethodInterceptor>> blurInterceptor;
+
+    private final Set<Method> recordedMethods = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> blurredCacheNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates an interceptor bypassing the given cache interceptor when it would cache a value not fully blurred.
+     *
+     * @param cacheInterceptor the Spring cache interceptor
+     * @param blurInterceptor  the supplier of the interceptor of the blur advisor, invoked once on first interception,
+     *                         may supply {@code null} if values are not blurred by a {@link BlurMethodInterceptor}
+     */
+    public BlurCacheInterceptor(MethodInterceptor cacheInterceptor, Supplier<BlurMethodInterceptor> blurInterceptor) {
+        this.cacheInterceptor = cacheInterceptor;
+        this.blurInterceptor = SingletonSupplier.of(() -> Optional.ofNullable(blurInterceptor.get()));
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Optional<BlurMethodInterceptor> interceptor = blurInterceptor.obtain();
+        if (interceptor.isPresent()) {
+            MethodBlurPlan plan = interceptor.get().plan(invocation.getMethod());
+            if (plan.blursReturnValue() && (plan.returnsLazyView() || !interceptor.get().tenantPolicy().blursEverything())) {
+                return invocation.proceed();
+            }
+            if (plan.blursReturnValue() && !recordedMethods.contains(invocation.getMethod())) {
+                record(invocation);
+            }
+        }
+        return cacheInterceptor.invoke(invocation);
+    }
+
+    /**
+     * Returns the names of the caches used so far by the methods whose return value is blurred.
+     *
+     * @return an unmodifiable view of the cache names
+     */
+    public Set<String> blurredCacheNames() {
+        return Collections.unmodifiableSet(blurredCacheNames);
+    }
+
+    private void record(MethodInvocation invocation) {
+        CacheOperationSource source = cacheInterceptor instanceof CacheAspectSupport cacheAspectSupport ? cacheAspectSupport.getCacheOperationSource() : null;
+        Collection<CacheOperation> operations = source == null ? null :
+                source.getCacheOperations(invocation.getMethod(), invocation.getThis() == null ? null : AopUtils.getTargetClass(invocation.getThis()));
+        if (operations != null) {
+            operations.forEach(operation -> blurredCacheNames.addAll(operation.getCacheNames()));
+        }
+        recordedMethods.add(invocation.getMethod());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.List;
+
+/**
+ * {@link ItemWriter} decorator that blurs a whole {@link Chunk} in one pass before handing it to the delegate writer.
+ * <p>
+ * Compared to {@link BlurItemProcessor}, which is invoked once per item, this writer walks the items of a chunk
+ * with a single precompiled {@link BlurHandle}, so it fits steps without a processor or steps whose processor
+ * changes the item type. Skipped items are never blurred because they are removed from the chunk before it is
+ * written. Like a {@link BlurItemProcessor}, a writer is owned by the application context it is created in.
+ * </p>
+ *
+ * @param <T> the type of the items
+ * @author allurx
+ * @see BlurHandle#blurAll(java.util.List)
+ */
+public class BlurChunkItemWriter<T> implements ItemWriter<T> {
+
+    private final ItemWriter<? super T> delegate;
+
+    private final BlurHandle<T> handle;
+
+    /**
+     * Creates a writer blurring items according to the blur annotations declared on the fields of the given class.
+     *
+     * @param delegate the writer receiving the blurred chunk
+     * @param type     the class of the items
+     */
+    public BlurChunkItemWriter(ItemWriter<? super T> delegate, Class<T> type) {
+        this(delegate, BlurHandle.cascade(type, TypeParserRegistry.currentContext()));
+    }
+
+    /**
+     * Creates a writer blurring items of the given annotated type.
+     *
+     * @param delegate the writer receiving the blurred chunk
+     * @param token    the annotated type token of the items
+     */
+    public BlurChunkItemWriter(ItemWriter<? super T> delegate, AnnotatedTypeToken<T> token) {
+        this(delegate, BlurHandle.of(token, TypeParserRegistry.currentContext()));
+    }
+
+    /**
+     * Creates a writer blurring items with the given handle.
+     *
+     * @param delegate the writer receiving the blurred chunk
+     * @param handle   the handle blurring the items
+     */
+    public BlurChunkItemWriter(ItemWriter<? super T> delegate, BlurHandle<T> handle) {
+        this.delegate = delegate;
+        this.handle = handle;
+    }
+
+    /**
+     * Writes a copy of the chunk holding the blurred items, and the skips, errors, end flag, busy flag and user data
+     * of the original chunk. Errors recorded by the delegate on the copy are recorded on the original chunk as well.
+     *
+     * @param chunk the chunk of items to blur and write
+     * @throws Exception if the delegate fails to write the chunk
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Chunk<T> source = (Chunk<T>) chunk;
+        Chunk<T> blurred = new Chunk<>(handle.blurAll(source.getItems()), source.getSkips());
+        source.getErrors().forEach(blurred::skip);
+        int errors = source.getErrors().size();
+        if (source.isEnd()) {
+            blurred.setEnd();
+        }
+        blurred.setBusy(source.isBusy());
+        blurred.setUserData(source.getUserData());
+        try {
+            delegate.write(blurred);
+        } finally {
+            List<Exception> written = blurred.getErrors();
+            written.subList(errors, written.size()).forEach(source::skip);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Refreshes the blur configuration at runtime, without restarting the application.
+ * <p>
+ * A refresh re-binds the {@code blur} properties from the {@link Environment}, parses the new pointcut expression
+ * and compiles the new tenant policies on a background thread. The method matcher and the tenant policies are then
+ * swapped into the {@link BlurMethodInterceptor} together, in a single atomic write, so an invocation never sees the
+ * matcher of one configuration with the tenant policies of another; the cached blur plans are kept. The policies are
+ * published to the {@link TenantBlurPolicies} bean right after, for its other readers such as the request body advice,
+ * which may briefly still see the previous policies. Invocations in flight are never blocked and keep the state they
+ * started with, and an invalid configuration is rejected before anything is swapped. Concurrent refreshes are applied
+ * one after the other, in the order they were requested.
+ * </p>
+ * <p>
+ * The blur advisor decides at startup which beans are proxied: those matched by the startup pointcut and those
+ * declared in the auto-configuration packages. A refreshed pointcut applies to the methods of those beans, and a
+ * warning names the beans it matches that were not proxied, since blurring their methods still requires a restart.
+ * </p>
+ * <p>
+ * Once the new configuration is swapped in, the caches used by the {@code @Cacheable} methods whose return value is
+ * blurred, as recorded by the {@link BlurCacheInterceptor}, are evicted, so that no value cached under the previous
+ * configuration is served under the new one.
+ * </p>
+ * <p>
+ * Only the pointcut expression and the tenant policies are refreshed. The other {@code blur} properties, such as
+ * {@code blur.wrappers} and {@code blur.pseudonymization}, configure beans created at startup and still require a
+ * restart.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurProperties.Refresh
+ */
+public class BlurConfigurationRefresher {
+
+    private static final Log LOG = LogFactory.getLog(BlurConfigurationRefresher.class);
+
+    private final Environment environment;
+    private final BeanFactory beanFactory;
+    private final BlurMethodInterceptor interceptor;
+    private final Supplier<TenantBlurPolicies> tenantBlurPolicies;
+    private final ClassFilter proxiedClasses;
+    private final Executor executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private CompletableFuture<String> lastRefresh = CompletableFuture.completedFuture(null);
+    private volatile String pointcutExpression;
+
+    /**
+     * Constructs a new BlurConfigurationRefresher.
+     *
+     * @param environment        the environment the blur properties are re-bound from
+     * @param beanFactory        the bean factory holding the auto-configuration packages
+     * @param interceptor        the interceptor of the blur advisor
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, may supply {@code null}
+     */
+    public BlurConfigurationRefresher(Environment environment,
+                                      BeanFactory beanFactory,
+                                      BlurMethodInterceptor interceptor,
+                                      Supplier<TenantBlurPolicies> tenantBlurPolicies) {
+        this(environment, beanFactory, interceptor, tenantBlurPolicies, ClassFilter.TRUE);
+    }
+
+    /**
+     * Constructs a new BlurConfigurationRefresher warning about the beans a refreshed pointcut matches but that
+     * were not proxied by the blur advisor.
+     *
+     * @param environment        the environment the blur properties are re-bound from
+     * @param beanFactory        the bean factory holding the auto-configuration packages
+     * @param interceptor        the interceptor of the blur advisor
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, may supply {@code null}
+     * @param proxiedClasses     the class filter of the blur advisor, selecting the proxied beans
+     */
+    public BlurConfigurationRefresher(Environment environment,
+                                      BeanFactory beanFactory,
+                                      BlurMethodInterceptor interceptor,
+                                      Supplier<TenantBlurPolicies> tenantBlurPolicies,
+                                      ClassFilter proxiedClasses) {
+        this.environment = environment;
+        this.beanFactory = beanFactory;
+        this.interceptor = interceptor;
+        this.tenantBlurPolicies = tenantBlurPolicies;
+        this.proxiedClasses = proxiedClasses;
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("blur-refresh-");
+        taskExecutor.setDaemon(true);
+        this.executor = taskExecutor;
+        this.pointcutExpression = BlurAutoConfiguration.pointcutExpression(bind(), beanFactory);
+    }
+
+    /**
+     * Refreshes the blur configuration on a background thread.
+     *
+     * @return a future completed with the applied pointcut expression once the new configuration is swapped in,
+     * or completed exceptionally if the configuration is invalid
+     */
+    public CompletableFuture<String> refresh() {
+        lock.lock();
+        try {
+            lastRefresh = lastRefresh.handle((previous, failure) -> null).thenApplyAsync(ignored -> apply(), executor);
+            return lastRefresh;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the pointcut expression applied by the last successful refresh, or at startup.
+     *
+     * @return the current pointcut expression
+     */
+    public String getPointcutExpression() {
+        return pointcutExpression;
+    }
+
+    private String apply() {
+        BlurProperties blurProperties = bind();
+        String expression = BlurAutoConfiguration.pointcutExpression(blurProperties, beanFactory);
+        AspectJExpressionPointcut pointcut = BlurAutoConfiguration.blurPointcut(expression, beanFactory);
+        TenantBlurPolicies policies = tenantBlurPolicies.get();
+        if (policies == null) {
+            interceptor.refresh(pointcut);
+        } else {
+            Map<String, TenantBlurPolicy> tenantPolicies = TenantBlurPolicies.compile(blurProperties.getTenants());
+            interceptor.refresh(pointcut, tenantPolicies);
+            policies.publish(tenantPolicies);
+        }
+        pointcutExpression = expression;
+        evictBlurredCaches();
+        warnUnproxiedBeans(pointcut);
+        return expression;
+    }
+
+    private void evictBlurredCaches() {
+        List<String> cacheNames = beanFactory.getBeanProvider(Advisor.class).stream()
+                .map(Advisor::getAdvice)
+                .filter(BlurCacheInterceptor.class::isInstance)
+                .map(BlurCacheInterceptor.class::cast)
+                .map(BlurCacheInterceptor::blurredCacheNames)
+                .flatMap(Set::stream)
+                .distinct()
+                .toList();
+        if (!cacheNames.isEmpty()) {
+            beanFactory.getBeanProvider(CacheManager.class).forEach(cacheManager -> cacheNames.stream()
+                    .map(cacheManager::getCache)
+                    .filter(Objects::nonNull)
+                    .forEach(Cache::invalidate));
+        }
+    }
+
+    private void warnUnproxiedBeans(AspectJExpressionPointcut pointcut) {
+        if (beanFactory instanceof ListableBeanFactory listableBeanFactory && LOG.isWarnEnabled()) {
+            List<String> unproxied = Arrays.stream(listableBeanFactory.getBeanDefinitionNames())
+                    .filter(beanName -> {
+                        Class<?> type = listableBeanFactory.getType(beanName, false);
+                        return type != null &&
+                                pointcut.getClassFilter().matches(ClassUtils.getUserClass(type)) &&
+                                !proxiedClasses.matches(ClassUtils.getUserClass(type));
+                    })
+                    .toList();
+            if (!unproxied.isEmpty()) {
+                LOG.warn("The refreshed pointcut expression matches beans the blur advisor did not proxy at startup, " +
+                        "their methods are not blurred until the application is restarted: " + unproxied);
+            }
+        }
+    }
+
+    private BlurProperties bind() {
+        return Binder.get(environment).bindOrCreate("blur", BlurProperties.class);
+    }
+}
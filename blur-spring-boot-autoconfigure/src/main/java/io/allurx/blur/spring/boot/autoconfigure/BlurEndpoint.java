@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the current blur configuration and refreshing it at runtime.
+ * <p>
+ * A {@code POST} to {@code /actuator/blur} re-reads the {@code blur} properties through the
+ * {@link BlurConfigurationRefresher} and waits until the new configuration is swapped in.
+ * </p>
+ *
+ * @author allurx
+ */
+@Endpoint(id = "blur")
+public class BlurEndpoint {
+
+    private final BlurConfigurationRefresher refresher;
+
+    /**
+     * Constructs a new BlurEndpoint.
+     *
+     * @param refresher the refresher of the blur configuration
+     */
+    public BlurEndpoint(BlurConfigurationRefresher refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * Returns the current blur configuration.
+     *
+     * @return the current pointcut expression
+     */
+    @ReadOperation
+    public Map<String, Object> configuration() {
+        return Map.of("pointcutExpression", refresher.getPointcutExpression());
+    }
+
+    /**
+     * Refreshes the blur configuration and waits until it is applied.
+     *
+     * @return the applied pointcut expression
+     */
+    @WriteOperation
+    public Map<String, Object> refresh() {
+        return Map.of("pointcutExpression", refresher.refresh().join());
+    }
+}
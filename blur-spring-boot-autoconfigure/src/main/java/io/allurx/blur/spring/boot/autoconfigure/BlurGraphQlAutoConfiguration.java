@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.graphql.execution.GraphQlSource;
+
+import java.util.List;
+
+/**
+ * Autoconfiguration class that blurs selected GraphQL fields at resolution time when Spring for GraphQL is on the classpath.
+ * <p>
+ * The {@link BlurInstrumentation} is registered through a {@link GraphQlSourceBuilderCustomizer} rather than as an
+ * {@link graphql.execution.instrumentation.Instrumentation} bean, so that it is added exactly once next to the
+ * instrumentations the application declares itself.
+ * </p>
+ *
+ * @author allurx
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass({GraphQlSource.class, GraphQlSourceBuilderCustomizer.class})
+public class BlurGraphQlAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurGraphQlAutoConfiguration() {
+    }
+
+    /**
+     * Registers a customizer adding the {@link BlurInstrumentation} to the GraphQL source.
+     *
+     * @param context the application context whose type parsers blur the resolved fields
+     * @return a {@link GraphQlSourceBuilderCustomizer} adding the blur instrumentation
+     */
+    @Bean
+    public GraphQlSourceBuilderCustomizer blurGraphQlSourceBuilderCustomizer(ApplicationContext context) {
+        return builder -> builder.instrumentation(List.of(new BlurInstrumentation(context)));
+    }
+}
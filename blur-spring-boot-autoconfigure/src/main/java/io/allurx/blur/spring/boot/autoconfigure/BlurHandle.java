@@ -0,0 +1,242 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.blur.Blur;
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reusable handle blurring values of one {@link AnnotatedType}.
+ * <p>
+ * The annotated type is analyzed once when the handle is created, so blurring many values through the same handle
+ * neither rebuilds type metadata nor re-checks whether the type requires blurring at all. Handles are immutable
+ * and can be shared between threads. They back both {@link BlurMethodInterceptor}, through {@link MethodBlurPlan},
+ * and {@link BlurTemplate}.
+ * </p>
+ * <p>
+ * A handle created for an {@link ApplicationContext} dispatches values to the type parsers of that context only,
+ * whichever thread blurs them. A handle created without a context uses the context bound by the caller, if any,
+ * see {@link TypeParserRegistry}.
+ * </p>
+ *
+ * @param <T> the type of the blurred values
+ * @author allurx
+ * @see BlurTemplate#compile(AnnotatedTypeToken)
+ */
+public final class BlurHandle<T> {
+
+    private final AnnotatedTypeToken<T> token;
+    private final AnnotatedType annotatedType;
+    private final ApplicationContext context;
+    private final boolean requiresBlur;
+
+    private BlurHandle(AnnotatedTypeToken<T> token, AnnotatedType annotatedType, ApplicationContext context) {
+        this.token = token;
+        this.annotatedType = annotatedType;
+        this.context = context;
+        this.requiresBlur = MethodBlurPlan.requiresBlur(annotatedType);
+    }
+
+    /**
+     * Creates a handle for the given annotated type.
+     *
+     * @param annotatedType the annotated type of the values to blur
+     * @param <T>           the type of the blurred values
+     * @return a handle blurring values of the given annotated type
+     */
+    public static <T> BlurHandle<T> of(AnnotatedType annotatedType) {
+        return of(annotatedType, null);
+    }
+
+    /**
+     * Creates a handle for the given annotated type, dispatching values to the type parsers of the given context.
+     *
+     * @param annotatedType the annotated type of the values to blur
+     * @param context       the application context owning the blurring, may be {@code null}
+     * @param <T>           the type of the blurred values
+     * @return a handle blurring values of the given annotated type
+     */
+    public static <T> BlurHandle<T> of(AnnotatedType annotatedType, ApplicationContext context) {
+        return new BlurHandle<>(AnnotatedTypeToken.of(annotatedType), annotatedType, context);
+    }
+
+    /**
+     * Creates a handle for values of the given class, blurred according to the blur annotations declared on its
+     * fields as if the class was annotated with {@link io.allurx.annotation.parser.type.Cascade}.
+     *
+     * @param type the class of the values to blur
+     * @param <T>  the type of the blurred values
+     * @return a handle blurring values of the given class
+     */
+    public static <T> BlurHandle<T> cascade(Class<T> type) {
+        return cascade(type, null);
+    }
+
+    /**
+     * Creates a handle for values of the given class, blurred according to the blur annotations declared on its
+     * fields, dispatching values to the type parsers of the given context.
+     *
+     * @param type    the class of the values to blur
+     * @param context the application context owning the blurring, may be {@code null}
+     * @param <T>     the type of the blurred values
+     * @return a handle blurring values of the given class
+     */
+    public static <T> BlurHandle<T> cascade(Class<T> type, ApplicationContext context) {
+        return of(SyntheticAnnotatedType.cascade(type), context);
+    }
+
+    /**
+     * Creates a handle for the given annotated type token.
+     *
+     * @param token the annotated type token of the values to blur
+     * @param <T>   the type of the blurred values
+     * @return a handle blurring values of the given annotated type
+     */
+    public static <T> BlurHandle<T> of(AnnotatedTypeToken<T> token) {
+        return of(token, null);
+    }
+
+    /**
+     * Creates a handle for the given annotated type token, dispatching values to the type parsers of the given context.
+     *
+     * @param token   the annotated type token of the values to blur
+     * @param context the application context owning the blurring, may be {@code null}
+     * @param <T>     the type of the blurred values
+     * @return a handle blurring values of the given annotated type
+     */
+    public static <T> BlurHandle<T> of(AnnotatedTypeToken<T> token, ApplicationContext context) {
+        return new BlurHandle<>(token, token.getAnnotatedType(), context);
+    }
+
+    /**
+     * Returns this handle owned by the given context, unless it is already owned by one.
+     *
+     * @param context the application context owning the blurring, may be {@code null}
+     * @return a handle owned by a context, or this handle if it already is or the given context is {@code null}
+     */
+    BlurHandle<T> ownedBy(ApplicationContext context) {
+        return context == null || this.context != null ? this : new BlurHandle<>(token, annotatedType, context);
+    }
+
+    /**
+     * Returns the annotated type of the values blurred by this handle.
+     *
+     * @return the annotated type
+     */
+    public AnnotatedType getAnnotatedType() {
+        return annotatedType;
+    }
+
+    /**
+     * Returns the application context owning this handle.
+     *
+     * @return the owning application context, or {@code null} if the handle uses the context bound by the caller
+     */
+    ApplicationContext getContext() {
+        return context;
+    }
+
+    /**
+     * Returns whether the annotated type carries any blur-related annotation. Values of a type that
+     * does not are returned as is.
+     *
+     * @return {@code true} if values of the annotated type require blurring
+     */
+    public boolean requiresBlur() {
+        return requiresBlur;
+    }
+
+    /**
+     * Blurs a single value.
+     *
+     * @param value the value to blur
+     * @return the blurred value
+     */
+    public T blur(T value) {
+        if (!requiresBlur) {
+            return value;
+        }
+        return context == null ?
+                Blur.blur(value, token) :
+                TypeParserRegistry.getInstance().callWith(context, () -> Blur.blur(value, token));
+    }
+
+    /**
+     * Blurs a chunk of values.
+     *
+     * @param values the values to blur
+     * @return a new list holding the blurred values in the same order
+     */
+    public List<T> blurAll(List<? extends T> values) {
+        List<T> blurred = new ArrayList<>(values.size());
+        for (T value : values) {
+            blurred.add(blur(value));
+        }
+        return blurred;
+    }
+
+    /**
+     * Blurs the values of an iterator lazily, each value being blurred when it is returned by the resulting iterator.
+     *
+     * @param source the iterator of the values to blur
+     * @return an iterator returning the blurred values
+     */
+    public Iterator<T> blurAll(Iterator<? extends T> source) {
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return blur(source.next());
+            }
+        };
+    }
+
+    /**
+     * Blurs the given values in chunks spread across the given executor, and waits for all chunks to complete.
+     *
+     * @param values    the values to blur
+     * @param chunkSize the maximum number of values blurred by one task
+     * @param executor  the executor running the chunks
+     * @return a new list holding the blurred values in the same order
+     */
+    public List<T> blurAll(List<? extends T> values, int chunkSize, Executor executor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        List<CompletableFuture<List<T>>> chunks = new ArrayList<>(values.size() / chunkSize + 1);
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            List<? extends T> chunk = values.subList(from, Math.min(from + chunkSize, values.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> blurAll(chunk), executor));
+        }
+        List<T> blurred = new ArrayList<>(values.size());
+        chunks.forEach(chunk -> blurred.addAll(chunk.join()));
+        return blurred;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.hateoas.EntityModel;
+
+/**
+ * Autoconfiguration class that registers Spring HATEOAS {@link EntityModel} in the {@link WrapperTypeRegistry}
+ * when Spring HATEOAS is on the classpath, so that {@code EntityModel<@Cascade Person>} values are blurred
+ * while keeping their links.
+ *
+ * @author allurx
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(EntityModel.class)
+public class BlurHateoasAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurHateoasAutoConfiguration() {
+    }
+
+    /**
+     * Registers a customizer adding {@link EntityModel} to the {@link WrapperTypeRegistry}.
+     *
+     * @return a {@link WrapperTypeRegistryCustomizer} for {@link EntityModel}
+     */
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public WrapperTypeRegistryCustomizer entityModelWrapperTypeCustomizer() {
+        return builder -> builder.wrapper(
+                (Class<EntityModel<Object>>) (Class) EntityModel.class,
+                EntityModel::getContent,
+                0,
+                (model, content) -> EntityModel.of(content, model.getLinks()));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.TypeParser;
+import org.hibernate.Hibernate;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.lang.reflect.AnnotatedType;
+
+/**
+ * Autoconfiguration class that makes the blur traversal Hibernate-aware when Hibernate is on the classpath.
+ * <p>
+ * Registers a {@link HibernateTypeParser} so that lazy associations reached through {@code @Cascade}
+ * are never initialized while blurring.
+ * </p>
+ *
+ * @author allurx
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(Hibernate.class)
+public class BlurHibernateAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurHibernateAutoConfiguration() {
+    }
+
+    /**
+     * Registers a type parser bean that skips uninitialized Hibernate proxies and persistent collections.
+     *
+     * @return a {@link TypeParser} implementation for Hibernate lazy values
+     */
+    @Bean
+    @ConditionalOnMissingBean(HibernateTypeParser.class)
+    public TypeParser<Object, AnnotatedType> hibernateTypeParser() {
+        return new HibernateTypeParser();
+    }
+}
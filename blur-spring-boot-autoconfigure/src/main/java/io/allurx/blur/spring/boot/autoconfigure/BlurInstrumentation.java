@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.LightDataFetcher;
+import io.allurx.annotation.parser.type.Cascade;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * GraphQL {@link graphql.execution.instrumentation.Instrumentation} applying blur annotations at field resolution.
+ * <p>
+ * Instead of blurring a whole {@code @Cascade} object returned by a data fetcher, each selected field is blurred
+ * when it is resolved from its source object, according to the blur annotations declared on the Java field of the
+ * same name. Fields the query does not select are never blurred. Only trivial data fetchers, i.e. property
+ * fetchers, are instrumented; a {@code @Cascade} field is not blurred as a whole but resolved field by field as well.
+ * </p>
+ * <p>
+ * The blur handles of a source class are resolved once and cached, and the instrumented fetchers stay lightweight
+ * so that no {@link DataFetchingEnvironment} is created per field.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurGraphQlAutoConfiguration
+ */
+public class BlurInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final ClassValue<Map<String, BlurHandle<Object>>> FIELD_HANDLES = new ClassValue<>() {
+        @Override
+        protected Map<String, BlurHandle<Object>> computeValue(Class<?> type) {
+            Map<String, BlurHandle<Object>> handles = new HashMap<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    AnnotatedType annotatedType = field.getAnnotatedType();
+                    if (!Modifier.isStatic(field.getModifiers()) &&
+                            MethodBlurPlan.requiresBlur(annotatedType) &&
+                            !cascades(annotatedType)) {
+                        handles.putIfAbsent(field.getName(), BlurHandle.of(annotatedType));
+                    }
+                }
+            }
+            return Map.copyOf(handles);
+        }
+    };
+
+    private final ApplicationContext context;
+
+    /**
+     * Default constructor
+     */
+    public BlurInstrumentation() {
+        this(null);
+    }
+
+    /**
+     * Creates an instrumentation dispatching the resolved values to the type parsers of the given application context.
+     *
+     * @param context the application context owning the GraphQL source, may be {@code null}
+     * @see TypeParserRegistry
+     */
+    public BlurInstrumentation(ApplicationContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+                                                InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        return parameters.isTrivialDataFetcher() && dataFetcher instanceof LightDataFetcher<?> lightDataFetcher ?
+                new BlurDataFetcher(lightDataFetcher, context) :
+                dataFetcher;
+    }
+
+    /**
+     * Returns the handle blurring the given field of the given source object.
+     *
+     * @param source    the object the field is resolved from
+     * @param fieldName the name of the field
+     * @return the handle blurring the field, or {@code null} if the field is not blurred
+     */
+    private static BlurHandle<Object> handle(Object source, String fieldName) {
+        return source == null ? null : FIELD_HANDLES.get(source.getClass()).get(fieldName);
+    }
+
+    /**
+     * Returns whether the annotated type, or one of its type arguments or component types, is annotated with {@link Cascade}.
+     * Such fields are resolved field by field instead of being blurred as a whole.
+     *
+     * @param annotatedType the annotated type of a field
+     * @return {@code true} if the annotated type cascades
+     */
+    private static boolean cascades(AnnotatedType annotatedType) {
+        return annotatedType.getDeclaredAnnotation(Cascade.class) != null ||
+                switch (annotatedType) {
+                    case AnnotatedParameterizedType annotatedParameterizedType ->
+                            Arrays.stream(annotatedParameterizedType.getAnnotatedActualTypeArguments())
+                                    .anyMatch(BlurInstrumentation::cascades);
+                    case AnnotatedArrayType annotatedArrayType ->
+                            cascades(annotatedArrayType.getAnnotatedGenericComponentType());
+                    default -> false;
+                };
+    }
+
+    /**
+     * Property data fetcher decorator blurring the resolved value. It remains a {@link LightDataFetcher}, so
+     * graphql-java still resolves the field without creating a {@link DataFetchingEnvironment}.
+     *
+     * @param delegate the property data fetcher
+     * @param context  the application context owning the GraphQL source, may be {@code null}
+     */
+    private record BlurDataFetcher(LightDataFetcher<?> delegate,
+                                   ApplicationContext context) implements LightDataFetcher<Object> {
+
+        @Override
+        public Object get(GraphQLFieldDefinition fieldDefinition, Object source, Supplier<DataFetchingEnvironment> environment) throws Exception {
+            Object value = delegate.get(fieldDefinition, source, environment);
+            return blur(handle(source, fieldDefinition.getName()), value);
+        }
+
+        @Override
+        public Object get(DataFetchingEnvironment environment) throws Exception {
+            Object value = delegate.get(environment);
+            return blur(handle(environment.getSource(), environment.getFieldDefinition().getName()), value);
+        }
+
+        private Object blur(BlurHandle<Object> handle, Object value) {
+            return handle == null ? value : TypeParserRegistry.getInstance().callWith(context, () -> handle.blur(value));
+        }
+    }
+}
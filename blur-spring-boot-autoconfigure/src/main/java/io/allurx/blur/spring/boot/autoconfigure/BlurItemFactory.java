@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * Factory of blurring Spring Batch components, auto-configured when Spring Batch is on the classpath.
+ *
+ * @author allurx
+ * @see BlurItemProcessor
+ * @see BlurChunkItemWriter
+ */
+public class BlurItemFactory {
+
+    private final BlurTemplate blurTemplate;
+
+    /**
+     * Constructs a factory compiling its handles with the given template.
+     *
+     * @param blurTemplate the template compiling the blur handles
+     */
+    public BlurItemFactory(BlurTemplate blurTemplate) {
+        this.blurTemplate = blurTemplate;
+    }
+
+    /**
+     * Creates a processor blurring items according to the blur annotations declared on the fields of the given class.
+     *
+     * @param type the class of the items
+     * @param <T>  the type of the items
+     * @return a blurring item processor
+     */
+    public <T> BlurItemProcessor<T> processor(Class<T> type) {
+        return new BlurItemProcessor<>(blurTemplate.compile(type));
+    }
+
+    /**
+     * Creates a processor blurring items of the given annotated type.
+     *
+     * @param token the annotated type token of the items
+     * @param <T>   the type of the items
+     * @return a blurring item processor
+     */
+    public <T> BlurItemProcessor<T> processor(AnnotatedTypeToken<T> token) {
+        return new BlurItemProcessor<>(blurTemplate.compile(token));
+    }
+
+    /**
+     * Decorates a writer so that each chunk is blurred according to the blur annotations declared on the fields
+     * of the given class before being written.
+     *
+     * @param delegate the writer receiving the blurred chunk
+     * @param type     the class of the items
+     * @param <T>      the type of the items
+     * @return a chunk-blurring item writer
+     */
+    public <T> BlurChunkItemWriter<T> writer(ItemWriter<? super T> delegate, Class<T> type) {
+        return new BlurChunkItemWriter<>(delegate, blurTemplate.compile(type));
+    }
+
+    /**
+     * Decorates a writer so that each chunk is blurred as the given annotated type before being written.
+     *
+     * @param delegate the writer receiving the blurred chunk
+     * @param token    the annotated type token of the items
+     * @param <T>      the type of the items
+     * @return a chunk-blurring item writer
+     */
+    public <T> BlurChunkItemWriter<T> writer(ItemWriter<? super T> delegate, AnnotatedTypeToken<T> token) {
+        return new BlurChunkItemWriter<>(delegate, blurTemplate.compile(token));
+    }
+}
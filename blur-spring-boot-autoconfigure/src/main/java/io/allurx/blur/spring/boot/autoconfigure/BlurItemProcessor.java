@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.batch.item.ItemProcessor;
+
+/**
+ * {@link ItemProcessor} that blurs every item of a Spring Batch step.
+ * <p>
+ * The type metadata of the items is resolved once when the processor is created, either from an
+ * {@link AnnotatedTypeToken} or from the blur annotations declared on the fields of the item class. A processor
+ * created by a bean of an application context, or within {@link TypeParserRegistry#callWith}, is owned by that
+ * context; {@link BlurItemFactory} creates processors owned by its context wherever they are created.
+ * </p>
+ * <pre>{@code
+ * return new StepBuilder("export", jobRepository)
+ *         .<Person, Person>chunk(100, transactionManager)
+ *         .reader(reader)
+ *         .processor(new BlurItemProcessor<>(Person.class))
+ *         .writer(writer)
+ *         .build();
+ * }</pre>
+ *
+ * @param <T> the type of the items
+ * @author allurx
+ * @see BlurChunkItemWriter
+ */
+public class BlurItemProcessor<T> implements ItemProcessor<T, T> {
+
+    private final BlurHandle<T> handle;
+
+    /**
+     * Creates a processor blurring items according to the blur annotations declared on the fields of the given class.
+     *
+     * @param type the class of the items
+     */
+    public BlurItemProcessor(Class<T> type) {
+        this(BlurHandle.cascade(type, TypeParserRegistry.currentContext()));
+    }
+
+    /**
+     * Creates a processor blurring items of the given annotated type.
+     *
+     * @param token the annotated type token of the items
+     */
+    public BlurItemProcessor(AnnotatedTypeToken<T> token) {
+        this(BlurHandle.of(token, TypeParserRegistry.currentContext()));
+    }
+
+    /**
+     * Creates a processor blurring items with the given handle.
+     *
+     * @param handle the handle blurring the items
+     */
+    public BlurItemProcessor(BlurHandle<T> handle) {
+        this.handle = handle;
+    }
+
+    @Override
+    public T process(T item) {
+        return handle.blur(item);
+    }
+}
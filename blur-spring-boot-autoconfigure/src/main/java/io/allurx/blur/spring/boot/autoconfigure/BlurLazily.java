@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Blurs the return value of the annotated method lazily instead of building a blurred copy of it up front.
+ * <p>
+ * The method returns read-only views: a {@code List} or {@code Map} return value is wrapped in a view blurring each
+ * element on first access, and a {@code @Cascade} value declared as an interface is wrapped in a proxy blurring the
+ * value of each accessor on first call. Blurred values are memoized, so parts of the value the caller never reads
+ * are never blurred. Other return values are blurred eagerly as usual.
+ * </p>
+ * <pre>{@code
+ * @BlurLazily
+ * public List<@Cascade Contact> contacts() {
+ *     ...
+ * }
+ * }</pre>
+ * <p>
+ * Intended for internal service-to-service calls whose callers read a few fields of large graphs; values that
+ * are serialized as a whole gain nothing from it.
+ * </p>
+ *
+ * @author allurx
+ * @see MethodBlurPlan
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BlurLazily {
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.TypeParser;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.util.List;
+
+/**
+ * Autoconfiguration class that blurs the payloads of Spring Messaging {@link Message}s when Spring Messaging is on the classpath.
+ *
+ * @author allurx
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(Message.class)
+public class BlurMessagingAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurMessagingAutoConfiguration() {
+    }
+
+    /**
+     * Registers a type parser bean that blurs the payload of a {@link Message}.
+     *
+     * @return a {@link TypeParser} implementation for {@link Message} types
+     */
+    @Bean
+    @ConditionalOnMissingBean(MessageTypeParser.class)
+    public TypeParser<Message<Object>, AnnotatedParameterizedType> messageTypeParser() {
+        return new MessageTypeParser();
+    }
+
+    /**
+     * Registers a type parser bean that blurs the payloads of a batch of {@link Message}s in one pass.
+     *
+     * @return a {@link TypeParser} implementation for {@code List<Message<T>>} types
+     */
+    @Bean
+    @ConditionalOnMissingBean(MessageListTypeParser.class)
+    public TypeParser<List<Message<Object>>, AnnotatedParameterizedType> messageListTypeParser() {
+        return new MessageListTypeParser();
+    }
+}
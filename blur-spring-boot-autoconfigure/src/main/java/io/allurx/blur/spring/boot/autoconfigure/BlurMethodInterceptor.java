@@ -22,24 +22,40 @@ import io.allurx.blur.Blur;
 import io.allurx.kit.base.reflection.AnnotatedTypeToken;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.function.SingletonSupplier;
 
-import java.lang.reflect.AnnotatedArrayType;
-import java.lang.reflect.AnnotatedParameterizedType;
-import java.lang.reflect.AnnotatedType;
-import java.lang.reflect.AnnotatedTypeVariable;
-import java.lang.reflect.AnnotatedWildcardType;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * Interceptor for applying data blur functionality on method arguments and return values.
  * This interceptor applies masking, obfuscation, and anonymization based on annotation-driven rules.
  * <p>
- * It dynamically checks for blur-related annotations on method parameters and return types,
- * ensuring only annotated data is processed, which optimizes performance by avoiding unnecessary processing.
+ * It checks for blur-related annotations on method parameters and return types once per method,
+ * caching the result as a {@link MethodBlurPlan}, and ensures only annotated data is processed,
+ * which optimizes performance by avoiding unnecessary processing.
+ * </p>
+ * <p>
+ * When per-tenant policies are configured, the {@link TenantBlurPolicy} of the current tenant is picked once per
+ * invocation from the immutable {@link TenantBlurPolicies} snapshot and applied to both the arguments and the return value.
+ * </p>
+ * <p>
+ * The method matcher of the blur pointcut, the cached plans and, once refreshed, the tenant policies form a state
+ * read once per invocation. {@link #refresh(MethodMatcher, Map)} builds a new state and swaps it in atomically, so
+ * in-flight invocations never block and never see the matcher of one configuration with the tenant policies of
+ * another. The matcher is only checked on invocation when the interceptor is refreshable, otherwise the proxy has
+ * already matched the method against the pointcut.
+ * </p>
+ * <p>
+ * No monitor is held on the invocation path, including while a blur plan is computed, so the interceptor
+ * runs on virtual threads without pinning their carrier threads.
  * </p>
  *
  * @author allurx
@@ -48,60 +64,197 @@ import java.util.stream.Stream;
  * @see AnnotatedTypeToken
  * @see Parse
  * @see Cascade
+ * @see MethodBlurPlan
  */
 public class BlurMethodInterceptor implements MethodInterceptor {
 
+    private final SingletonSupplier<Optional<TenantBlurPolicies>> tenantBlurPolicies;
+
+    private final SingletonSupplier<Boolean> blurRequestBodies;
+
+    private final boolean refreshable;
+
+    private final ApplicationContext context;
+
+    private volatile State state;
+
     /**
      * Default constructor
      */
     public BlurMethodInterceptor() {
+        this(() -> null);
+    }
+
+    /**
+     * Creates an interceptor applying the per-tenant blur policies, if any.
+     *
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, invoked once on first interception,
+     *                           may supply {@code null} if no tenant policies are configured
+     */
+    public BlurMethodInterceptor(Supplier<TenantBlurPolicies> tenantBlurPolicies) {
+        this(tenantBlurPolicies, () -> true);
+    }
+
+    /**
+     * Creates an interceptor applying the per-tenant blur policies, if any, and optionally leaving the
+     * {@link org.springframework.web.bind.annotation.RequestBody} arguments already blurred by a
+     * {@link BlurRequestBodyAdvice} untouched.
+     *
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, invoked once on first interception,
+     *                           may supply {@code null} if no tenant policies are configured
+     * @param blurRequestBodies  the supplier of whether request body arguments are blurred by this interceptor even if
+     *                           they were blurred when read, invoked once before the first blur plan is computed
+     */
+    public BlurMethodInterceptor(Supplier<TenantBlurPolicies> tenantBlurPolicies, Supplier<Boolean> blurRequestBodies) {
+        this(tenantBlurPolicies, blurRequestBodies, MethodMatcher.TRUE, false);
+    }
+
+    /**
+     * Creates an interceptor whose method matcher can be refreshed at runtime.
+     *
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, invoked once on first interception,
+     *                           may supply {@code null} if no tenant policies are configured
+     * @param blurRequestBodies  the supplier of whether request body arguments are blurred by this interceptor even if
+     *                           they were blurred when read, invoked once before the first blur plan is computed
+     * @param methodMatcher      the method matcher of the blur pointcut
+     * @param refreshable        whether the method matcher is checked on invocation, so that methods no longer
+     *                           matched after a {@link #refresh(MethodMatcher)} are not blurred
+     */
+    public BlurMethodInterceptor(Supplier<TenantBlurPolicies> tenantBlurPolicies,
+                                 Supplier<Boolean> blurRequestBodies,
+                                 MethodMatcher methodMatcher,
+                                 boolean refreshable) {
+        this(tenantBlurPolicies, blurRequestBodies, methodMatcher, refreshable, null);
+    }
+
+    /**
+     * Creates an interceptor whose method matcher can be refreshed at runtime, dispatching the blurred values to the
+     * type parsers of the given application context.
+     *
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, invoked once on first interception,
+     *                           may supply {@code null} if no tenant policies are configured
+     * @param blurRequestBodies  the supplier of whether request body arguments are blurred by this interceptor even if
+     *                           they were blurred when read, invoked once before the first blur plan is computed
+     * @param methodMatcher      the method matcher of the blur pointcut
+     * @param refreshable        whether the method matcher is checked on invocation, so that methods no longer
+     *                           matched after a {@link #refresh(MethodMatcher)} are not blurred
+     * @param context            the application context owning the intercepted beans, may be {@code null}
+     * @see TypeParserRegistry
+     */
+    public BlurMethodInterceptor(Supplier<TenantBlurPolicies> tenantBlurPolicies,
+                                 Supplier<Boolean> blurRequestBodies,
+                                 MethodMatcher methodMatcher,
+                                 boolean refreshable,
+                                 ApplicationContext context) {
+        this.tenantBlurPolicies = SingletonSupplier.of(() -> Optional.ofNullable(tenantBlurPolicies.get()));
+        this.blurRequestBodies = SingletonSupplier.of(blurRequestBodies);
+        this.refreshable = refreshable;
+        this.context = context;
+        this.state = new State(methodMatcher, new ConcurrentHashMap<>(), null);
     }
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
+        State state = this.state;
         Method method = invocation.getMethod();
-        Object[] arguments = invocation.getArguments();
-        Parameter[] parameters = method.getParameters();
+        if (refreshable && !state.methodMatcher().matches(method, targetClass(invocation.getThis(), method))) {
+            return invocation.proceed();
+        }
+        MethodBlurPlan plan = state.plan(method, blurRequestBodies.obtain(), context);
+        if (plan.isEmpty()) {
+            return invocation.proceed();
+        }
+        if (tenantBlurPolicies.obtain().isEmpty()) {
+            plan.blurArguments(invocation.getArguments());
+            return plan.blurReturnValue(invocation.proceed());
+        }
+        TenantBlurPolicy policy = tenantPolicy(state);
+        policy.blurArguments(plan, invocation.getArguments());
+        return policy.blurReturnValue(plan, invocation.proceed());
+    }
 
-        IntStream.range(0, parameters.length)
-                .filter(i -> requiresBlur(parameters[i].getAnnotatedType()))
-                .forEach(i -> arguments[i] = Blur.blur(arguments[i], AnnotatedTypeToken.of(parameters[i].getAnnotatedType())));
+    /**
+     * Returns the {@link TenantBlurPolicy} an invocation on the current thread would be blurred with.
+     *
+     * @return the policy of the current tenant, or {@link TenantBlurPolicy#DEFAULT} if no tenant policies are configured
+     */
+    public TenantBlurPolicy tenantPolicy() {
+        return tenantPolicy(state);
+    }
 
-        Object proceed = invocation.proceed();
-        AnnotatedType returnType = method.getAnnotatedReturnType();
+    private TenantBlurPolicy tenantPolicy(State state) {
+        Optional<TenantBlurPolicies> policies = tenantBlurPolicies.obtain();
+        if (policies.isEmpty()) {
+            return TenantBlurPolicy.DEFAULT;
+        }
+        return state.tenantPolicies() == null ?
+                policies.get().current() :
+                policies.get().current(state.tenantPolicies());
+    }
 
-        return requiresBlur(returnType) ? Blur.blur(proceed, AnnotatedTypeToken.of(returnType)) : proceed;
+    /**
+     * Returns the blur plan of the given method, computing and caching it on first use.
+     *
+     * @param method the intercepted method
+     * @return the blur plan of the method
+     */
+    public MethodBlurPlan plan(Method method) {
+        return state.plan(method, blurRequestBodies.obtain(), context);
     }
 
     /**
-     * Determines if an object, identified by its {@link AnnotatedType}, requires blurring.
-     * Objects marked with blur-related annotations are processed, while others are skipped
-     * to maintain performance by avoiding redundant processing or object creation.
+     * Returns the current method matcher of the blur pointcut.
+     *
+     * @return the current method matcher
+     */
+    public MethodMatcher methodMatcher() {
+        return state.methodMatcher();
+    }
+
+    /**
+     * Replaces the method matcher of the blur pointcut, keeping the current tenant policies.
      * <p>
-     * Although using a dedicated {@code @Blur} annotation might simplify identification,
-     * this method avoids extra annotations by dynamically analyzing the presence of blur-triggering annotations.
+     * The cached blur plans only depend on the methods, not on the matcher, so they are kept and the first
+     * invocations after a refresh do not pay for the analysis again.
      * </p>
      *
-     * @param annotatedType the {@link AnnotatedType} of the object to evaluate
-     * @return {@code true} if the object requires blurring, {@code false} otherwise
+     * @param methodMatcher the new method matcher of the blur pointcut
+     */
+    public void refresh(MethodMatcher methodMatcher) {
+        State current = state;
+        state = new State(methodMatcher, current.plans(), current.tenantPolicies());
+    }
+
+    /**
+     * Replaces the method matcher of the blur pointcut and the tenant policies in a single atomic swap, keeping the
+     * cached blur plans.
+     *
+     * @param methodMatcher  the new method matcher of the blur pointcut
+     * @param tenantPolicies the new compiled tenant policies
+     * @see TenantBlurPolicies#compile(Map)
+     */
+    public void refresh(MethodMatcher methodMatcher, Map<String, TenantBlurPolicy> tenantPolicies) {
+        state = new State(methodMatcher, state.plans(), Map.copyOf(tenantPolicies));
+    }
+
+    private static Class<?> targetClass(Object target, Method method) {
+        return target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+    }
+
+    /**
+     * Matching state of the interceptor, replaced as a whole on refresh.
+     *
+     * @param methodMatcher  the method matcher of the blur pointcut
+     * @param plans          the blur plans computed so far, shared by successive states
+     * @param tenantPolicies the compiled tenant policies, or {@code null} to read those of {@link TenantBlurPolicies}
      */
-    private boolean requiresBlur(AnnotatedType annotatedType) {
-        return Arrays.stream(annotatedType.getDeclaredAnnotations()).anyMatch(annotation -> annotation.annotationType().isAnnotationPresent(Parse.class)) ||
-                annotatedType.getDeclaredAnnotation(Cascade.class) != null ||
-                switch (annotatedType) {
-                    case AnnotatedTypeVariable annotatedTypeVariable ->
-                            Arrays.stream(annotatedTypeVariable.getAnnotatedBounds()).anyMatch(this::requiresBlur);
-                    case AnnotatedWildcardType annotatedWildcardType ->
-                            Stream.of(annotatedWildcardType.getAnnotatedUpperBounds(), annotatedWildcardType.getAnnotatedLowerBounds())
-                                    .flatMap(Arrays::stream)
-                                    .anyMatch(this::requiresBlur);
-                    case AnnotatedParameterizedType annotatedParameterizedType ->
-                            Arrays.stream(annotatedParameterizedType.getAnnotatedActualTypeArguments())
-                                    .anyMatch(this::requiresBlur);
-                    case AnnotatedArrayType annotatedArrayType ->
-                            requiresBlur(annotatedArrayType.getAnnotatedGenericComponentType());
-                    default -> false;
-                };
+    private record State(MethodMatcher methodMatcher,
+                         ConcurrentMap<Method, MethodBlurPlan> plans,
+                         Map<String, TenantBlurPolicy> tenantPolicies) {
+
+        MethodBlurPlan plan(Method method, boolean blurRequestBodies, ApplicationContext context) {
+            return MethodBlurPlan.cached(plans, method, blurRequestBodies, context);
+        }
     }
 
 }
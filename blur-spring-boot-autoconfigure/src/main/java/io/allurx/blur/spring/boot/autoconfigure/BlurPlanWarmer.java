@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Computes the {@link MethodBlurPlan} of every method advised by the blur advisor ahead of the first request.
+ * <p>
+ * Without warm-up, the first invocations after a deployment pay for the reflective annotation analysis,
+ * class loading and interpreted execution of the blur path. The plans are computed in parallel on a bounded
+ * executor of daemon threads and the warm-up is reported as a {@code blur.warm-up} {@link StartupStep}.
+ * </p>
+ * <p>
+ * What is warmed is the {@link MethodBlurPlan} of each advised method, that is the analysis of its annotated
+ * parameter and return types. Synthetic blur passes, if configured, additionally run the blur path of the
+ * parameters and return values of type {@link String} only; other types have no synthetic value to blur.
+ * </p>
+ * <p>
+ * The calling thread waits for the warm-up at most {@link BlurProperties.WarmUp#getTimeout() the configured timeout}.
+ * Plans still being computed after that keep being computed in the background. A method whose plan cannot be
+ * computed is logged and left to fail on its first invocation.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurProperties.WarmUp
+ */
+public class BlurPlanWarmer {
+
+    private static final Log LOG = LogFactory.getLog(BlurPlanWarmer.class);
+
+    private final ConfigurableApplicationContext context;
+    private final BlurProperties.WarmUp warmUp;
+
+    /**
+     * Constructs a new BlurPlanWarmer.
+     *
+     * @param context the application context holding the blur advisor and the advised beans
+     * @param warmUp  the warm-up configuration
+     */
+    public BlurPlanWarmer(ConfigurableApplicationContext context, BlurProperties.WarmUp warmUp) {
+        this.context = context;
+        this.warmUp = warmUp;
+    }
+
+    /**
+     * Computes the blur plans of all advised methods and waits for their completion, at most for the configured timeout.
+     */
+    public void warmUp() {
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        if (!warmUp.isEnabled() ||
+                !beanFactory.containsBean(BlurAutoConfiguration.BLUR_ADVISOR) ||
+                !(beanFactory.getBean(BlurAutoConfiguration.BLUR_ADVISOR) instanceof PointcutAdvisor advisor) ||
+                !(advisor.getAdvice() instanceof BlurMethodInterceptor interceptor)) {
+            return;
+        }
+        StartupStep step = context.getApplicationStartup().start("blur.warm-up");
+        Set<Method> methods = advisedMethods(beanFactory, advisor);
+        int parallelism = Math.max(1, Math.min(warmUp.getParallelism(), methods.size()));
+        step.tag("methods", String.valueOf(methods.size()))
+                .tag("parallelism", String.valueOf(parallelism))
+                .tag("syntheticPasses", String.valueOf(warmUp.getSyntheticPasses()));
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("blur-warm-up-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+        AtomicInteger failures = new AtomicInteger();
+        try {
+            CompletableFuture.allOf(methods.stream()
+                            .map(method -> CompletableFuture.runAsync(() -> interceptor.plan(method).warmUp(warmUp.getSyntheticPasses()), executor)
+                                    .whenComplete((ignored, ex) -> {
+                                        if (ex != null) {
+                                            failures.incrementAndGet();
+                                            LOG.warn("Failed to compute the blur plan of " + method + ", it will be computed on first invocation", ex);
+                                        }
+                                    }))
+                            .toArray(CompletableFuture[]::new))
+                    .get(warmUp.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ignored) {
+            // failures are logged per method
+        } catch (TimeoutException e) {
+            LOG.warn("Blur warm-up did not complete within " + warmUp.getTimeout() + ", the remaining blur plans are computed in the background");
+            step.tag("timedOut", "true");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+            step.tag("failures", String.valueOf(failures.get()));
+            step.end();
+        }
+    }
+
+    /**
+     * Collects the methods of all singleton beans proxied with the given advisor that match its pointcut.
+     *
+     * @param beanFactory the bean factory holding the advised beans
+     * @param advisor     the blur advisor
+     * @return the advised methods
+     */
+    private Set<Method> advisedMethods(ConfigurableListableBeanFactory beanFactory, PointcutAdvisor advisor) {
+        MethodMatcher methodMatcher = advisor.getPointcut().getMethodMatcher();
+        Set<Method> methods = new LinkedHashSet<>();
+        for (String beanName : beanFactory.getSingletonNames()) {
+            if (beanFactory.getSingleton(beanName) instanceof Advised advised && Arrays.asList(advised.getAdvisors()).contains(advisor)) {
+                Class<?> targetClass = AopProxyUtils.ultimateTargetClass(advised);
+                Stream.concat(Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(targetClass, ReflectionUtils.USER_DECLARED_METHODS)),
+                                Arrays.stream(advised.getProxiedInterfaces()).flatMap(proxiedInterface -> Arrays.stream(proxiedInterface.getMethods())))
+                        .filter(method -> methodMatcher.matches(method, targetClass))
+                        .forEach(methods::add);
+            }
+        }
+        return methods;
+    }
+}
@@ -18,6 +18,16 @@ package io.allurx.blur.spring.boot.autoconfigure;
 
 import org.aspectj.weaver.tools.PointcutPrimitive;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration properties for data obfuscation. The {@link #pointcutExpression} property
@@ -43,6 +53,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "blur")
 public class BlurProperties {
 
+    /**
+     * Default order of the blur advisor. It has a higher precedence than the {@code TransactionInterceptor},
+     * which uses {@link Ordered#LOWEST_PRECEDENCE} by default, so blurring runs outside of transactions.
+     */
+    public static final int DEFAULT_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
     /**
      * Default constructor
      */
@@ -51,10 +67,52 @@ public class BlurProperties {
 
     /**
      * Pointcut expression defining the target methods for data blur functionality.
-     * Defaults to all methods within the package of the Spring Boot main application class and its sub-packages.
+     * Defaults to all methods within the auto-configuration packages, which is the package of the class annotated with
+     * {@code @SpringBootApplication} and its sub-packages.
      */
     private String pointcutExpression;
 
+    /**
+     * Order of the blur advisor. Advisors with a lower order wrap the blur advisor, advisors with a
+     * higher order, such as the transaction advisor by default, are wrapped by it.
+     */
+    private int order = DEFAULT_ORDER;
+
+    /**
+     * How blurring is applied to the target methods.
+     */
+    private Mode mode = Mode.PROXY;
+
+    /**
+     * When {@code @RequestBody} parameters of Spring MVC handler methods are blurred.
+     */
+    private RequestBodyMode requestBodyMode = RequestBodyMode.INTERCEPTOR;
+
+    /**
+     * Warm-up of blur plans when the application is ready.
+     */
+    private final WarmUp warmUp = new WarmUp();
+
+    /**
+     * Runtime refresh of the blur configuration.
+     */
+    private final Refresh refresh = new Refresh();
+
+    /**
+     * Keyed pseudonymization of values annotated with {@link Pseudonymize}.
+     */
+    private final Pseudonymization pseudonymization = new Pseudonymization();
+
+    /**
+     * Blur policies per tenant id, applied when a {@link TenantResolver} bean is declared.
+     */
+    private final Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    /**
+     * Wrapper types whose payload is blurred, in addition to the default ones registered in the {@link WrapperTypeRegistry}.
+     */
+    private final List<Wrapper> wrappers = new ArrayList<>();
+
     /**
      * Retrieves the pointcut expression used for AOP.
      *
@@ -73,5 +131,529 @@ public class BlurProperties {
         this.pointcutExpression = pointcutExpression;
     }
 
-}
+    /**
+     * Retrieves the order of the blur advisor.
+     *
+     * @return the order of the blur advisor.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Sets the order of the blur advisor.
+     *
+     * @param order the order to set.
+     */
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    /**
+     * Retrieves how blurring is applied to the target methods.
+     *
+     * @return the blur mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets how blurring is applied to the target methods.
+     *
+     * @param mode the blur mode to set.
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Retrieves when {@code @RequestBody} parameters are blurred.
+     *
+     * @return the request body mode.
+     */
+    public RequestBodyMode getRequestBodyMode() {
+        return requestBodyMode;
+    }
+
+    /**
+     * Sets when {@code @RequestBody} parameters are blurred.
+     *
+     * @param requestBodyMode the request body mode to set.
+     */
+    public void setRequestBodyMode(RequestBodyMode requestBodyMode) {
+        this.requestBodyMode = requestBodyMode;
+    }
+
+    /**
+     * Retrieves the warm-up configuration.
+     *
+     * @return the warm-up configuration.
+     */
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Retrieves the refresh configuration.
+     *
+     * @return the refresh configuration.
+     */
+    public Refresh getRefresh() {
+        return refresh;
+    }
+
+    /**
+     * Retrieves the pseudonymization configuration.
+     *
+     * @return the pseudonymization configuration.
+     */
+    public Pseudonymization getPseudonymization() {
+        return pseudonymization;
+    }
+
+    /**
+     * Retrieves the blur policies per tenant id.
+     *
+     * @return the blur policies per tenant id.
+     */
+    public Map<String, Tenant> getTenants() {
+        return tenants;
+    }
+
+    /**
+     * Retrieves the wrapper types whose payload is blurred.
+     *
+     * @return the wrapper types whose payload is blurred.
+     */
+    public List<Wrapper> getWrappers() {
+        return wrappers;
+    }
 
+    /**
+     * Ways of applying blurring to the target methods.
+     */
+    public enum Mode {
+
+        /**
+         * Blurring is applied by the Spring AOP proxy-based blur advisor.
+         */
+        PROXY,
+
+        /**
+         * Blurring is applied by an {@link AbstractBlurAspect} woven at compile time or load time,
+         * the proxy-based blur advisor is not registered.
+         */
+        ASPECTJ
+    }
+
+    /**
+     * Points at which {@code @RequestBody} parameters of Spring MVC handler methods are blurred.
+     */
+    public enum RequestBodyMode {
+
+        /**
+         * Request bodies are blurred by the blur advisor, like every other argument, when the handler method is invoked.
+         */
+        INTERCEPTOR,
+
+        /**
+         * Request bodies are blurred by a {@link BlurRequestBodyAdvice} right after they are read, and the blur advisor
+         * skips them, so that the handler method receives bodies that are already blurred without a second traversal.
+         * Only applies with {@link Mode#PROXY} in servlet web applications.
+         */
+        ADVICE
+    }
+
+    /**
+     * Configuration of the warm-up performed when the application is ready. Every method advised by the
+     * blur advisor gets its {@link MethodBlurPlan} computed ahead of the first request.
+     */
+    public static class WarmUp {
+
+        /**
+         * Whether to compute the blur plans of all advised methods when the application is ready.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of threads computing blur plans in parallel.
+         */
+        private int parallelism = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+        /**
+         * Number of synthetic blur passes run over every {@link String} parameter and return value
+         * of an advised method, giving the JIT compiler a head start on the blur path.
+         */
+        private int syntheticPasses = 0;
+
+        /**
+         * Maximum time the application startup waits for the warm-up. Blur plans still being computed after
+         * that are computed in the background.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Default constructor
+         */
+        public WarmUp() {
+        }
+
+        /**
+         * Returns whether the warm-up is enabled.
+         *
+         * @return {@code true} if the warm-up is enabled.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the warm-up is enabled.
+         *
+         * @param enabled whether the warm-up is enabled.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns the maximum number of warm-up threads.
+         *
+         * @return the maximum number of warm-up threads.
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * Sets the maximum number of warm-up threads.
+         *
+         * @param parallelism the maximum number of warm-up threads.
+         */
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Returns the number of synthetic blur passes.
+         *
+         * @return the number of synthetic blur passes.
+         */
+        public int getSyntheticPasses() {
+            return syntheticPasses;
+        }
+
+        /**
+         * Sets the number of synthetic blur passes.
+         *
+         * @param syntheticPasses the number of synthetic blur passes.
+         */
+        public void setSyntheticPasses(int syntheticPasses) {
+            this.syntheticPasses = syntheticPasses;
+        }
+
+        /**
+         * Returns the maximum time the application startup waits for the warm-up.
+         *
+         * @return the warm-up timeout.
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        /**
+         * Sets the maximum time the application startup waits for the warm-up.
+         *
+         * @param timeout the warm-up timeout.
+         */
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Configuration of the runtime refresh of the pointcut expression and the tenant policies.
+     *
+     * @see BlurConfigurationRefresher
+     */
+    public static class Refresh {
+
+        /**
+         * Whether the blur configuration can be refreshed at runtime. The blur advisor then proxies the beans matched
+         * by the startup pointcut and those declared in the auto-configuration packages, and checks the refreshed
+         * pointcut on every invocation of their methods.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Default constructor
+         */
+        public Refresh() {
+        }
+
+        /**
+         * Returns whether the blur configuration can be refreshed at runtime.
+         *
+         * @return {@code true} if the blur configuration can be refreshed.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the blur configuration can be refreshed at runtime.
+         *
+         * @param enabled whether the blur configuration can be refreshed.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Configuration of the keyed pseudonymization applied to values annotated with {@link Pseudonymize}.
+     */
+    public static class Pseudonymization {
+
+        /**
+         * Secret key of the HMAC-SHA256 pseudonyms. Ignored when a {@link KeyProvider} bean is declared.
+         */
+        private String key;
+
+        /**
+         * Number of leading HMAC bytes kept in a pseudonym, which is encoded as unpadded base64url.
+         */
+        private int tokenBytes = 12;
+
+        /**
+         * Maximum number of cached pseudonyms, {@code 0} disables the cache.
+         */
+        private int cacheSize = 0;
+
+        /**
+         * Default constructor
+         */
+        public Pseudonymization() {
+        }
+
+        /**
+         * Returns the secret key of the pseudonyms.
+         *
+         * @return the secret key.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Sets the secret key of the pseudonyms.
+         *
+         * @param key the secret key.
+         */
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns the number of HMAC bytes kept in a pseudonym.
+         *
+         * @return the number of HMAC bytes kept in a pseudonym.
+         */
+        public int getTokenBytes() {
+            return tokenBytes;
+        }
+
+        /**
+         * Sets the number of HMAC bytes kept in a pseudonym.
+         *
+         * @param tokenBytes the number of HMAC bytes kept in a pseudonym.
+         */
+        public void setTokenBytes(int tokenBytes) {
+            this.tokenBytes = tokenBytes;
+        }
+
+        /**
+         * Returns the maximum number of cached pseudonyms.
+         *
+         * @return the maximum number of cached pseudonyms.
+         */
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        /**
+         * Sets the maximum number of cached pseudonyms.
+         *
+         * @param cacheSize the maximum number of cached pseudonyms.
+         */
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    /**
+     * Blur policy of a tenant, overriding the blur annotations for the invocations performed for it.
+     */
+    public static class Tenant {
+
+        /**
+         * Whether blurring is enabled for the tenant.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Blur annotations whose values are left untouched for the tenant, e.g. {@code io.allurx.blur.annotation.Email}.
+         */
+        private Set<Class<? extends Annotation>> excludedAnnotations = new LinkedHashSet<>();
+
+        /**
+         * Default constructor
+         */
+        public Tenant() {
+        }
+
+        /**
+         * Returns whether blurring is enabled for the tenant.
+         *
+         * @return {@code true} if blurring is enabled for the tenant.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether blurring is enabled for the tenant.
+         *
+         * @param enabled whether blurring is enabled for the tenant.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns the blur annotations whose values are left untouched for the tenant.
+         *
+         * @return the excluded blur annotations.
+         */
+        public Set<Class<? extends Annotation>> getExcludedAnnotations() {
+            return excludedAnnotations;
+        }
+
+        /**
+         * Sets the blur annotations whose values are left untouched for the tenant.
+         *
+         * @param excludedAnnotations the excluded blur annotations.
+         */
+        public void setExcludedAnnotations(Set<Class<? extends Annotation>> excludedAnnotations) {
+            this.excludedAnnotations = excludedAnnotations;
+        }
+    }
+
+    /**
+     * Wrapper type whose payload is blurred, declared by the names of its methods.
+     *
+     * @see WrapperTypeRegistry.Builder#wrapper(Class, String, int, String)
+     */
+    public static class Wrapper {
+
+        /**
+         * The wrapper type, e.g. {@code com.example.Result}.
+         */
+        private Class<?> type;
+
+        /**
+         * The name of the public no-arg method returning the payload of the wrapper.
+         */
+        private String payloadAccessor;
+
+        /**
+         * The index of the type argument of the wrapper describing the payload.
+         */
+        private int typeArgumentIndex = 0;
+
+        /**
+         * The name of the public method rebuilding the wrapper around a blurred payload.
+         */
+        private String rebuild;
+
+        /**
+         * Default constructor
+         */
+        public Wrapper() {
+        }
+
+        /**
+         * Returns the wrapper type.
+         *
+         * @return the wrapper type.
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Sets the wrapper type.
+         *
+         * @param type the wrapper type.
+         */
+        public void setType(Class<?> type) {
+            this.type = type;
+        }
+
+        /**
+         * Returns the name of the payload accessor.
+         *
+         * @return the name of the payload accessor.
+         */
+        public String getPayloadAccessor() {
+            return payloadAccessor;
+        }
+
+        /**
+         * Sets the name of the payload accessor.
+         *
+         * @param payloadAccessor the name of the payload accessor.
+         */
+        public void setPayloadAccessor(String payloadAccessor) {
+            this.payloadAccessor = payloadAccessor;
+        }
+
+        /**
+         * Returns the index of the type argument describing the payload.
+         *
+         * @return the index of the type argument describing the payload.
+         */
+        public int getTypeArgumentIndex() {
+            return typeArgumentIndex;
+        }
+
+        /**
+         * Sets the index of the type argument describing the payload.
+         *
+         * @param typeArgumentIndex the index of the type argument describing the payload.
+         */
+        public void setTypeArgumentIndex(int typeArgumentIndex) {
+            this.typeArgumentIndex = typeArgumentIndex;
+        }
+
+        /**
+         * Returns the name of the rebuild method.
+         *
+         * @return the name of the rebuild method.
+         */
+        public String getRebuild() {
+            return rebuild;
+        }
+
+        /**
+         * Sets the name of the rebuild method.
+         *
+         * @param rebuild the name of the rebuild method.
+         */
+        public void setRebuild(String rebuild) {
+            this.rebuild = rebuild;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.aop.MethodMatcher;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Request body advice blurring {@code @RequestBody} parameters right after the message converter has read them.
+ * <p>
+ * The body of a handler method matched by the blur pointcut is blurred according to the annotated type of the handler
+ * method parameter, or of the type argument of an {@link Optional} parameter since such bodies are read unwrapped,
+ * through the same {@link MethodBlurPlan} the {@link BlurMethodInterceptor} would use, and recorded in the current
+ * request so that the interceptor does not blur it again. Bodies left unblurred, such as those of a tenant whose
+ * blurring is disabled, are not recorded. Arguments of direct calls to the handler
+ * method, which were never read by a message converter, are still blurred by the interceptor.
+ * The handler method thus receives a body that is already blurred, and large request bodies are traversed once
+ * instead of being read and then traversed again on method invocation. Enabled by setting
+ * {@code blur.request-body-mode} to {@code advice}.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurProperties.RequestBodyMode#ADVICE
+ */
+@ControllerAdvice
+public class BlurRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final ConcurrentMap<Method, MethodBlurPlan> plans = new ConcurrentHashMap<>();
+
+    private final SingletonSupplier<Optional<TenantBlurPolicies>> tenantBlurPolicies;
+
+    private final Supplier<MethodMatcher> methodMatcher;
+
+    private final ApplicationContext context;
+
+    /**
+     * Creates an advice applying the per-tenant blur policies, if any, to the handler methods matched by the blur pointcut.
+     *
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, invoked once on first read,
+     *                           may supply {@code null} if no tenant policies are configured
+     * @param methodMatcher      the supplier of the current method matcher of the blur pointcut, invoked on every read
+     */
+    public BlurRequestBodyAdvice(Supplier<TenantBlurPolicies> tenantBlurPolicies, Supplier<MethodMatcher> methodMatcher) {
+        this(tenantBlurPolicies, methodMatcher, null);
+    }
+
+    /**
+     * Creates an advice applying the per-tenant blur policies, if any, to the handler methods matched by the blur pointcut,
+     * dispatching the blurred bodies to the type parsers of the given application context.
+     *
+     * @param tenantBlurPolicies the supplier of the per-tenant blur policies, invoked once on first read,
+     *                           may supply {@code null} if no tenant policies are configured
+     * @param methodMatcher      the supplier of the current method matcher of the blur pointcut, invoked on every read
+     * @param context            the application context owning the handler methods, may be {@code null}
+     * @see TypeParserRegistry
+     */
+    public BlurRequestBodyAdvice(Supplier<TenantBlurPolicies> tenantBlurPolicies, Supplier<MethodMatcher> methodMatcher, ApplicationContext context) {
+        this.tenantBlurPolicies = SingletonSupplier.of(() -> Optional.ofNullable(tenantBlurPolicies.get()));
+        this.methodMatcher = methodMatcher;
+        this.context = context;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Method method = methodParameter.getMethod();
+        return method != null &&
+                methodParameter.getParameterIndex() >= 0 &&
+                plan(method).blursRequestBody(methodParameter.getParameterIndex()) &&
+                methodMatcher.get().matches(method, methodParameter.getContainingClass());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body,
+                                HttpInputMessage inputMessage,
+                                MethodParameter parameter,
+                                Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        MethodBlurPlan plan = plan(parameter.getMethod());
+        Optional<TenantBlurPolicies> policies = tenantBlurPolicies.obtain();
+        return policies.isEmpty() ?
+                plan.blurRequestBody(parameter.getParameterIndex(), body) :
+                policies.get().current().blurRequestBody(plan, parameter.getParameterIndex(), body);
+    }
+
+    private MethodBlurPlan plan(Method method) {
+        return MethodBlurPlan.cached(plans, method, true, context);
+    }
+}
@@ -0,0 +1,1176 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * {@link ResultSet} view masking the values of the columns selected by {@link ColumnBlurRules} as they are read.
+ * <p>
+ * The character getters {@code getString}, {@code getNString}, {@code getObject}, {@code getCharacterStream} and
+ * {@code getNCharacterStream} return the masked value of a masked column. The getters that would hand out its raw
+ * content in another form, {@code getBytes}, {@code getAsciiStream}, {@code getUnicodeStream},
+ * {@code getBinaryStream}, {@code getBlob}, {@code getClob}, {@code getNClob} and {@code getSQLXML}, throw an
+ * {@link SQLException} for a masked column, and the view cannot be unwrapped to the underlying result set. The
+ * row mapper reading through this view therefore never sees the original value of a masked column.
+ * </p>
+ * <p>
+ * Every other call is delegated directly to the underlying result set. The label of a column read by index is
+ * resolved from the result set metadata once per view, on the first read of the column.
+ * </p>
+ *
+ * @author allurx
+ */
+final class BlurResultSet implements ResultSet {
+
+    private final ResultSet resultSet;
+    private final ColumnBlurRules rules;
+    private BlurHandle<String>[] handles;
+    private boolean[] resolved;
+
+    BlurResultSet(ResultSet resultSet, ColumnBlurRules rules) {
+        this.resultSet = resultSet;
+        this.rules = rules;
+    }
+
+    /**
+     * Wraps the given result set so that the columns selected by the rules are masked.
+     *
+     * @param resultSet the result set to wrap
+     * @param rules     the rules selecting the masked columns
+     * @return the masking view, or the result set itself if the rules mask no column
+     */
+    static ResultSet wrap(ResultSet resultSet, ColumnBlurRules rules) {
+        return rules.isEmpty() ? resultSet : new BlurResultSet(resultSet, rules);
+    }
+
+    /**
+     * Returns whether this view masks the given result set.
+     *
+     * @param resultSet the result set
+     * @return {@code true} if this view wraps the given result set itself
+     */
+    boolean wraps(ResultSet resultSet) {
+        return this.resultSet == resultSet;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        return resultSet.next();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        resultSet.close();
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return resultSet.wasNull();
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return blur(columnIndex, resultSet.getString(columnIndex));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        return resultSet.getBoolean(columnIndex);
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        return resultSet.getByte(columnIndex);
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        return resultSet.getShort(columnIndex);
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return resultSet.getInt(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        return resultSet.getLong(columnIndex);
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        return resultSet.getFloat(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        return resultSet.getDouble(columnIndex);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        return resultSet.getBigDecimal(columnIndex, scale);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return resultSet.getBytes(reject(columnIndex));
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        return resultSet.getDate(columnIndex);
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        return resultSet.getTime(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return resultSet.getTimestamp(columnIndex);
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        return resultSet.getAsciiStream(reject(columnIndex));
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        return resultSet.getUnicodeStream(reject(columnIndex));
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        return resultSet.getBinaryStream(reject(columnIndex));
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return blur(columnLabel, resultSet.getString(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return resultSet.getBoolean(columnLabel);
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        return resultSet.getByte(columnLabel);
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return resultSet.getShort(columnLabel);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return resultSet.getInt(columnLabel);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return resultSet.getLong(columnLabel);
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        return resultSet.getFloat(columnLabel);
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return resultSet.getDouble(columnLabel);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return resultSet.getBigDecimal(columnLabel, scale);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return resultSet.getBytes(reject(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return resultSet.getDate(columnLabel);
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return resultSet.getTime(columnLabel);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return resultSet.getTimestamp(columnLabel);
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return resultSet.getAsciiStream(reject(columnLabel));
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        return resultSet.getUnicodeStream(reject(columnLabel));
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return resultSet.getBinaryStream(reject(columnLabel));
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return resultSet.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        resultSet.clearWarnings();
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        return resultSet.getCursorName();
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return resultSet.getMetaData();
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        Object value = resultSet.getObject(columnIndex);
+        return value instanceof String string ? blur(columnIndex, string) : value;
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        Object value = resultSet.getObject(columnLabel);
+        return value instanceof String string ? blur(columnLabel, string) : value;
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        return resultSet.findColumn(columnLabel);
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        BlurHandle<String> handle = handle(columnIndex);
+        if (handle == null) {
+            return resultSet.getCharacterStream(columnIndex);
+        }
+        String value = resultSet.getString(columnIndex);
+        return value == null ? null : new StringReader(handle.blur(value));
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        BlurHandle<String> handle = handle(columnLabel);
+        if (handle == null) {
+            return resultSet.getCharacterStream(columnLabel);
+        }
+        String value = resultSet.getString(columnLabel);
+        return value == null ? null : new StringReader(handle.blur(value));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        return resultSet.getBigDecimal(columnIndex);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return resultSet.getBigDecimal(columnLabel);
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        return resultSet.isBeforeFirst();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        return resultSet.isAfterLast();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        return resultSet.isFirst();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        return resultSet.isLast();
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        resultSet.beforeFirst();
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        resultSet.afterLast();
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return resultSet.first();
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return resultSet.last();
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        return resultSet.getRow();
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        return resultSet.absolute(row);
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        return resultSet.relative(rows);
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return resultSet.previous();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        resultSet.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return resultSet.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        resultSet.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return resultSet.getFetchSize();
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return resultSet.getType();
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        return resultSet.getConcurrency();
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        return resultSet.rowUpdated();
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        return resultSet.rowInserted();
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        return resultSet.rowDeleted();
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        resultSet.updateNull(columnIndex);
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        resultSet.updateBoolean(columnIndex, x);
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        resultSet.updateByte(columnIndex, x);
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        resultSet.updateShort(columnIndex, x);
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        resultSet.updateInt(columnIndex, x);
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        resultSet.updateLong(columnIndex, x);
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        resultSet.updateFloat(columnIndex, x);
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        resultSet.updateDouble(columnIndex, x);
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        resultSet.updateBigDecimal(columnIndex, x);
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        resultSet.updateString(columnIndex, x);
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        resultSet.updateBytes(columnIndex, x);
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        resultSet.updateDate(columnIndex, x);
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        resultSet.updateTime(columnIndex, x);
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        resultSet.updateTimestamp(columnIndex, x);
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+        resultSet.updateAsciiStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+        resultSet.updateBinaryStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+        resultSet.updateCharacterStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        resultSet.updateObject(columnIndex, x, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        resultSet.updateObject(columnIndex, x);
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        resultSet.updateNull(columnLabel);
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        resultSet.updateBoolean(columnLabel, x);
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        resultSet.updateByte(columnLabel, x);
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        resultSet.updateShort(columnLabel, x);
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        resultSet.updateInt(columnLabel, x);
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        resultSet.updateLong(columnLabel, x);
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        resultSet.updateFloat(columnLabel, x);
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        resultSet.updateDouble(columnLabel, x);
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        resultSet.updateBigDecimal(columnLabel, x);
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        resultSet.updateString(columnLabel, x);
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        resultSet.updateBytes(columnLabel, x);
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        resultSet.updateDate(columnLabel, x);
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        resultSet.updateTime(columnLabel, x);
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        resultSet.updateTimestamp(columnLabel, x);
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+        resultSet.updateAsciiStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+        resultSet.updateBinaryStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader x, int length) throws SQLException {
+        resultSet.updateCharacterStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        resultSet.updateObject(columnLabel, x, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        resultSet.updateObject(columnLabel, x);
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        resultSet.insertRow();
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        resultSet.updateRow();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        resultSet.deleteRow();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        resultSet.refreshRow();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        resultSet.cancelRowUpdates();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        resultSet.moveToInsertRow();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        resultSet.moveToCurrentRow();
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        return resultSet.getStatement();
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        Object value = resultSet.getObject(columnIndex, map);
+        return value instanceof String string ? blur(columnIndex, string) : value;
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        return resultSet.getRef(columnIndex);
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        return resultSet.getBlob(reject(columnIndex));
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        return resultSet.getClob(reject(columnIndex));
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        return resultSet.getArray(columnIndex);
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        Object value = resultSet.getObject(columnLabel, map);
+        return value instanceof String string ? blur(columnLabel, string) : value;
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        return resultSet.getRef(columnLabel);
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        return resultSet.getBlob(reject(columnLabel));
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        return resultSet.getClob(reject(columnLabel));
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        return resultSet.getArray(columnLabel);
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        return resultSet.getDate(columnIndex, cal);
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return resultSet.getDate(columnLabel, cal);
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        return resultSet.getTime(columnIndex, cal);
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return resultSet.getTime(columnLabel, cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        return resultSet.getTimestamp(columnIndex, cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return resultSet.getTimestamp(columnLabel, cal);
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        return resultSet.getURL(columnIndex);
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        return resultSet.getURL(columnLabel);
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        resultSet.updateRef(columnIndex, x);
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        resultSet.updateRef(columnLabel, x);
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        resultSet.updateBlob(columnIndex, x);
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        resultSet.updateBlob(columnLabel, x);
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        resultSet.updateClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        resultSet.updateClob(columnLabel, x);
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        resultSet.updateArray(columnIndex, x);
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        resultSet.updateArray(columnLabel, x);
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        return resultSet.getRowId(columnIndex);
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        return resultSet.getRowId(columnLabel);
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        resultSet.updateRowId(columnIndex, x);
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        resultSet.updateRowId(columnLabel, x);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return resultSet.getHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return resultSet.isClosed();
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String x) throws SQLException {
+        resultSet.updateNString(columnIndex, x);
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String x) throws SQLException {
+        resultSet.updateNString(columnLabel, x);
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob x) throws SQLException {
+        resultSet.updateNClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob x) throws SQLException {
+        resultSet.updateNClob(columnLabel, x);
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        return resultSet.getNClob(reject(columnIndex));
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        return resultSet.getNClob(reject(columnLabel));
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        return resultSet.getSQLXML(reject(columnIndex));
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        return resultSet.getSQLXML(reject(columnLabel));
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+        resultSet.updateSQLXML(columnIndex, x);
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+        resultSet.updateSQLXML(columnLabel, x);
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        return blur(columnIndex, resultSet.getNString(columnIndex));
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        return blur(columnLabel, resultSet.getNString(columnLabel));
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        BlurHandle<String> handle = handle(columnIndex);
+        if (handle == null) {
+            return resultSet.getNCharacterStream(columnIndex);
+        }
+        String value = resultSet.getNString(columnIndex);
+        return value == null ? null : new StringReader(handle.blur(value));
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        BlurHandle<String> handle = handle(columnLabel);
+        if (handle == null) {
+            return resultSet.getNCharacterStream(columnLabel);
+        }
+        String value = resultSet.getNString(columnLabel);
+        return value == null ? null : new StringReader(handle.blur(value));
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        resultSet.updateNCharacterStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+        resultSet.updateNCharacterStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+        resultSet.updateAsciiStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+        resultSet.updateBinaryStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        resultSet.updateCharacterStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+        resultSet.updateAsciiStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+        resultSet.updateBinaryStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+        resultSet.updateCharacterStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream x, long length) throws SQLException {
+        resultSet.updateBlob(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream x, long length) throws SQLException {
+        resultSet.updateBlob(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+        resultSet.updateClob(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+        resultSet.updateClob(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+        resultSet.updateNClob(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+        resultSet.updateNClob(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        resultSet.updateNCharacterStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException {
+        resultSet.updateNCharacterStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        resultSet.updateAsciiStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        resultSet.updateBinaryStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        resultSet.updateCharacterStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        resultSet.updateAsciiStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        resultSet.updateBinaryStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader x) throws SQLException {
+        resultSet.updateCharacterStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+        resultSet.updateBlob(columnIndex, x);
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+        resultSet.updateBlob(columnLabel, x);
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader x) throws SQLException {
+        resultSet.updateClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader x) throws SQLException {
+        resultSet.updateClob(columnLabel, x);
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader x) throws SQLException {
+        resultSet.updateNClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader x) throws SQLException {
+        resultSet.updateNClob(columnLabel, x);
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        T value = resultSet.getObject(columnIndex, type);
+        return value instanceof String string ? type.cast(blur(columnIndex, string)) : value;
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        T value = resultSet.getObject(columnLabel, type);
+        return value instanceof String string ? type.cast(blur(columnLabel, string)) : value;
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        resultSet.updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        resultSet.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException {
+        resultSet.updateObject(columnIndex, x, targetSqlType);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException {
+        resultSet.updateObject(columnLabel, x, targetSqlType);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("The masking view of a result set cannot be unwrapped to " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Returns the handle masking the column at the given index.
+     *
+     * @param columnIndex the index of the column
+     * @return the handle masking the column, or {@code null} if the column is not masked or the index is invalid
+     * @throws SQLException if the result set metadata cannot be read
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BlurHandle<String> handle(int columnIndex) throws SQLException {
+        if (handles == null) {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            handles = new BlurHandle[columnCount + 1];
+            resolved = new boolean[columnCount + 1];
+        }
+        if (columnIndex < 1 || columnIndex >= handles.length) {
+            return null;
+        }
+        if (!resolved[columnIndex]) {
+            handles[columnIndex] = rules.handle(resultSet.getMetaData().getColumnLabel(columnIndex));
+            resolved[columnIndex] = true;
+        }
+        return handles[columnIndex];
+    }
+
+    /**
+     * Returns the handle masking the column with the given label.
+     *
+     * @param columnLabel the label of the column
+     * @return the handle masking the column, or {@code null} if the column is not masked
+     */
+    private BlurHandle<String> handle(String columnLabel) {
+        return rules.handle(columnLabel);
+    }
+
+    private String blur(int columnIndex, String value) throws SQLException {
+        BlurHandle<String> handle = value == null ? null : handle(columnIndex);
+        return handle == null ? value : handle.blur(value);
+    }
+
+    private String blur(String columnLabel, String value) {
+        BlurHandle<String> handle = value == null ? null : handle(columnLabel);
+        return handle == null ? value : handle.blur(value);
+    }
+
+    /**
+     * Returns the given column index, provided that the column is not masked.
+     *
+     * @param columnIndex the index of the column read in a form that cannot be masked
+     * @return the column index
+     * @throws SQLException if the column is masked
+     */
+    private int reject(int columnIndex) throws SQLException {
+        if (handle(columnIndex) != null) {
+            throw masked(resultSet.getMetaData().getColumnLabel(columnIndex));
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Returns the given column label, provided that the column is not masked.
+     *
+     * @param columnLabel the label of the column read in a form that cannot be masked
+     * @return the column label
+     * @throws SQLException if the column is masked
+     */
+    private String reject(String columnLabel) throws SQLException {
+        if (handle(columnLabel) != null) {
+            throw masked(columnLabel);
+        }
+        return columnLabel;
+    }
+
+    private static SQLException masked(String columnLabel) {
+        return new SQLException("Column '" + columnLabel + "' is masked and can only be read as a character value");
+    }
+}
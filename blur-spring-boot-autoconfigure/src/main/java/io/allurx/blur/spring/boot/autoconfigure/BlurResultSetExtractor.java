@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link ResultSetExtractor} decorator that masks the columns selected by {@link ColumnBlurRules} as they are read.
+ *
+ * @param <T> the type of the extracted result
+ * @author allurx
+ * @see BlurRowMapper
+ */
+public class BlurResultSetExtractor<T> implements ResultSetExtractor<T> {
+
+    private final ResultSetExtractor<T> delegate;
+
+    private final ColumnBlurRules rules;
+
+    /**
+     * Creates an extractor masking the columns selected by the given rules.
+     *
+     * @param delegate the extractor reading the masked values
+     * @param rules    the rules selecting the masked columns
+     */
+    public BlurResultSetExtractor(ResultSetExtractor<T> delegate, ColumnBlurRules rules) {
+        this.delegate = delegate;
+        this.rules = rules;
+    }
+
+    @Override
+    public T extractData(ResultSet resultSet) throws SQLException {
+        return delegate.extractData(BlurResultSet.wrap(resultSet, rules));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link RowMapper} decorator that masks the columns selected by {@link ColumnBlurRules} as they are read,
+ * so the mapped objects only ever hold masked values and need no further {@code @Cascade} blurring.
+ * <pre>{@code
+ * RowMapper<Person> mapper = new BlurRowMapper<>(new DataClassRowMapper<>(Person.class), ColumnBlurRules.of(Person.class));
+ * try (Stream<Person> persons = jdbcTemplate.queryForStream("select * from person", mapper)) {
+ *     ...
+ * }
+ * }</pre>
+ * <p>
+ * The rows of a result set are read through a single masking view of it, which resolves the label of each character
+ * column it reads once, on the first row, rather than on every row. The view is kept per thread, since a result set is
+ * read by one thread at a time, and replaced as soon as the thread maps the first row of a result set or a row of
+ * another result set, so instances are thread-safe and can be shared between queries.
+ * </p>
+ *
+ * @param <T> the type of the mapped objects
+ * @author allurx
+ * @see BlurResultSetExtractor
+ */
+public class BlurRowMapper<T> implements RowMapper<T> {
+
+    private final RowMapper<T> delegate;
+
+    private final ColumnBlurRules rules;
+
+    private final ThreadLocal<BlurResultSet> views = new ThreadLocal<>();
+
+    /**
+     * Creates a row mapper masking the columns of the blur-annotated {@code String} fields of the given class.
+     *
+     * @param delegate the row mapper reading the masked values
+     * @param type     the class the rows are mapped to
+     */
+    public BlurRowMapper(RowMapper<T> delegate, Class<?> type) {
+        this(delegate, ColumnBlurRules.of(type));
+    }
+
+    /**
+     * Creates a row mapper masking the columns selected by the given rules.
+     *
+     * @param delegate the row mapper reading the masked values
+     * @param rules    the rules selecting the masked columns
+     */
+    public BlurRowMapper(RowMapper<T> delegate, ColumnBlurRules rules) {
+        this.delegate = delegate;
+        this.rules = rules;
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        if (rules.isEmpty()) {
+            return delegate.mapRow(resultSet, rowNum);
+        }
+        BlurResultSet view = views.get();
+        if (rowNum == 0 || view == null || !view.wraps(resultSet)) {
+            view = new BlurResultSet(resultSet, rules);
+            views.set(view);
+        }
+        return delegate.mapRow(view, rowNum);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Programmatic entry point for blurring values outside of method interception, e.g. in batch exports.
+ * <p>
+ * Unlike {@code Blur.blur(value, AnnotatedTypeToken)}, the type metadata is resolved once by {@link #compile(AnnotatedTypeToken)}
+ * and the resulting {@link BlurHandle} is reused for every value:
+ * </p>
+ * <pre>{@code
+ * BlurHandle<Person> handle = blurTemplate.compile(new AnnotatedTypeToken<@Cascade Person>() {});
+ * List<Person> blurred = handle.blurAll(persons, 1000, executor);
+ * }</pre>
+ *
+ * @author allurx
+ * @see BlurHandle
+ */
+public class BlurTemplate {
+
+    private final ApplicationContext context;
+
+    /**
+     * Default constructor
+     */
+    public BlurTemplate() {
+        this(null);
+    }
+
+    /**
+     * Creates a template whose handles dispatch values to the type parsers of the given application context.
+     *
+     * @param context the application context owning the blurring, may be {@code null}
+     * @see TypeParserRegistry
+     */
+    public BlurTemplate(ApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Compiles a reusable handle for the given annotated type token.
+     *
+     * @param token the annotated type token of the values to blur
+     * @param <T>   the type of the blurred values
+     * @return a handle blurring values of the given annotated type
+     */
+    public <T> BlurHandle<T> compile(AnnotatedTypeToken<T> token) {
+        return BlurHandle.of(token, context);
+    }
+
+    /**
+     * Compiles a reusable handle for values of the given class, blurred according to the blur annotations
+     * declared on its fields.
+     *
+     * @param type the class of the values to blur
+     * @param <T>  the type of the blurred values
+     * @return a handle blurring values of the given class
+     */
+    public <T> BlurHandle<T> compile(Class<T> type) {
+        return BlurHandle.cascade(type, context);
+    }
+
+    /**
+     * Blurs a single value. Prefer {@link #compile(AnnotatedTypeToken)} when blurring many values of the same type.
+     *
+     * @param value the value to blur
+     * @param token the annotated type token of the value
+     * @param <T>   the type of the value
+     * @return the blurred value
+     */
+    public <T> T blur(T value, AnnotatedTypeToken<T> token) {
+        return compile(token).blur(value);
+    }
+
+    /**
+     * Blurs a chunk of values.
+     *
+     * @param values the values to blur
+     * @param token  the annotated type token of the values
+     * @param <T>    the type of the values
+     * @return a new list holding the blurred values in the same order
+     */
+    public <T> List<T> blurAll(List<? extends T> values, AnnotatedTypeToken<T> token) {
+        return compile(token).blurAll(values);
+    }
+
+    /**
+     * Blurs the values of an iterator lazily.
+     *
+     * @param source the iterator of the values to blur
+     * @param token  the annotated type token of the values
+     * @param <T>    the type of the values
+     * @return an iterator returning the blurred values
+     */
+    public <T> Iterator<T> blurAll(Iterator<? extends T> source, AnnotatedTypeToken<T> token) {
+        return compile(token).blurAll(source);
+    }
+
+    /**
+     * Blurs the given values in chunks spread across the given executor, and waits for all chunks to complete.
+     *
+     * @param values    the values to blur
+     * @param token     the annotated type token of the values
+     * @param chunkSize the maximum number of values blurred by one task
+     * @param executor  the executor running the chunks
+     * @param <T>       the type of the values
+     * @return a new list holding the blurred values in the same order
+     */
+    public <T> List<T> blurAll(List<? extends T> values, AnnotatedTypeToken<T> token, int chunkSize, Executor executor) {
+        return compile(token).blurAll(values, chunkSize, executor);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+/**
+ * Autoconfiguration class checking the ordering of the blur advisor relative to Spring's transaction advisor.
+ *
+ * @author allurx
+ * @see BlurTransactionDiagnostics
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(TransactionInterceptor.class)
+public class BlurTransactionAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurTransactionAutoConfiguration() {
+    }
+
+    /**
+     * Registers the startup diagnostic warning whenever blurring runs inside an open transaction.
+     *
+     * @param beanFactory the bean factory holding the blur and transaction advisors
+     * @return a {@link BlurTransactionDiagnostics} instance
+     */
+    @Bean
+    public BlurTransactionDiagnostics blurTransactionDiagnostics(ListableBeanFactory beanFactory) {
+        return new BlurTransactionDiagnostics(beanFactory);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+
+/**
+ * Startup diagnostic that warns when blurring would run inside an open transaction.
+ * <p>
+ * If the transaction advisor does not have a lower precedence than the blur advisor, the transaction
+ * interceptor wraps the blur interceptor. The pooled JDBC connection is then held while large results
+ * are blurred, instead of only for the duration of the database work.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurProperties#getOrder()
+ */
+public class BlurTransactionDiagnostics implements SmartInitializingSingleton {
+
+    private static final Log LOG = LogFactory.getLog(BlurTransactionDiagnostics.class);
+    private final ListableBeanFactory beanFactory;
+
+    /**
+     * Constructs a new BlurTransactionDiagnostics.
+     *
+     * @param beanFactory the bean factory holding the blur and transaction advisors
+     */
+    public BlurTransactionDiagnostics(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!beanFactory.containsBean(BlurAutoConfiguration.BLUR_ADVISOR)) {
+            return;
+        }
+        int blurAdvisorOrder = beanFactory.getBean(BlurAutoConfiguration.BLUR_ADVISOR, Advisor.class) instanceof Ordered ordered ?
+                ordered.getOrder() :
+                Ordered.LOWEST_PRECEDENCE;
+        beanFactory.getBeansOfType(BeanFactoryTransactionAttributeSourceAdvisor.class, false, false)
+                .forEach((name, advisor) -> {
+                    if (advisor.getOrder() <= blurAdvisorOrder) {
+                        LOG.warn("Blurring runs inside transactions started by '" + name + "' (order " + advisor.getOrder() +
+                                ") because the blur advisor has order " + blurAdvisorOrder + ". The JDBC connection is held while blurring, " +
+                                "set 'blur.order' to a value lower than " + advisor.getOrder() + " to blur outside of transactions.");
+                    }
+                });
+    }
+}
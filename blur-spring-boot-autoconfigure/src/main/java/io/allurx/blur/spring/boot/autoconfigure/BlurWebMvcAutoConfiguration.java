@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.TypeParser;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+
+/**
+ * Autoconfiguration class that blurs streamed MVC responses, and optionally request bodies as they are read,
+ * when Spring MVC is on the classpath.
+ *
+ * @author allurx
+ * @see BlurringSseEmitter
+ * @see BlurringResponseBodyEmitter
+ * @see BlurRequestBodyAdvice
+ */
+@AutoConfiguration(after = BlurAutoConfiguration.class)
+@ConditionalOnClass(ResponseBodyEmitter.class)
+public class BlurWebMvcAutoConfiguration {
+
+    /**
+     * Default constructor
+     */
+    public BlurWebMvcAutoConfiguration() {
+    }
+
+    /**
+     * Registers a type parser bean that binds blurring emitters to the element type declared on their handler method.
+     *
+     * @return a {@link TypeParser} implementation for {@link BlurringEmitter} types
+     */
+    @Bean
+    @ConditionalOnMissingBean(BlurringEmitterTypeParser.class)
+    public TypeParser<BlurringEmitter<Object>, AnnotatedParameterizedType> blurringEmitterTypeParser() {
+        return new BlurringEmitterTypeParser();
+    }
+
+    /**
+     * Registers the {@link BlurRequestBodyAdvice} blurring {@code @RequestBody} parameters as they are read, when
+     * {@code blur.request-body-mode} is {@code advice} and the proxy-based blur advisor is used.
+     *
+     * @param tenantBlurPolicies the provider of the optional per-tenant blur policies, resolved on first read
+     * @param beanFactory        the bean factory holding the blur advisor, resolved on first read
+     * @param context            the application context whose type parsers blur the request bodies
+     * @return the {@link BlurRequestBodyAdvice}
+     */
+    @Bean(BlurAutoConfiguration.BLUR_REQUEST_BODY_ADVICE)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @Conditional(RequestBodyAdviceCondition.class)
+    public BlurRequestBodyAdvice blurRequestBodyAdvice(ObjectProvider<TenantBlurPolicies> tenantBlurPolicies, BeanFactory beanFactory, ApplicationContext context) {
+        SingletonSupplier<Advisor> blurAdvisor = SingletonSupplier.of(() -> beanFactory.getBean(BlurAutoConfiguration.BLUR_ADVISOR, Advisor.class));
+        return new BlurRequestBodyAdvice(tenantBlurPolicies::getIfAvailable, () -> switch (blurAdvisor.obtain()) {
+            case Advisor advisor when advisor.getAdvice() instanceof BlurMethodInterceptor interceptor -> interceptor.methodMatcher();
+            case PointcutAdvisor advisor -> advisor.getPointcut().getMethodMatcher();
+            default -> MethodMatcher.TRUE;
+        }, context);
+    }
+
+    /**
+     * Condition matching when {@code blur.request-body-mode} is {@code advice} and {@code blur.mode} is {@code proxy}.
+     */
+    static class RequestBodyAdviceCondition extends AllNestedConditions {
+
+        RequestBodyAdviceCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "blur", name = "request-body-mode", havingValue = "advice")
+        static class AdviceRequestBodyMode {
+        }
+
+        @ConditionalOnProperty(prefix = "blur", name = "mode", havingValue = "proxy", matchIfMissing = true)
+        static class ProxyMode {
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+/**
+ * Emitter blurring every object it sends with a {@link BlurHandle} of its element type.
+ * <p>
+ * An emitter created without an element type is bound when it is returned from a blurred handler method,
+ * e.g. {@code BlurringSseEmitter<@Cascade Person>}, by {@link BlurringEmitterTypeParser}. Objects sent before
+ * that are held back and flushed, in order, as soon as the emitter is bound. An emitter still unbound when it is
+ * handed to Spring MVC, because its handler method is not advised or its element type declares nothing to blur,
+ * drops its objects with a warning rather than sending them unblurred. An emitter meant to send its objects as is is
+ * created with an annotated type token declaring nothing to blur.
+ * </p>
+ *
+ * @param <T> the type of the sent objects
+ * @author allurx
+ * @see BlurringSseEmitter
+ * @see BlurringResponseBodyEmitter
+ */
+public interface BlurringEmitter<T> {
+
+    /**
+     * Binds the handle blurring the sent objects. Only the first binding takes effect.
+     *
+     * @param handle the handle blurring the sent objects
+     */
+    void bind(BlurHandle<T> handle);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * Type parser binding a {@link BlurringEmitter} returned from a handler method to the annotated element type
+ * declared on the method, e.g. {@code BlurringSseEmitter<@Cascade Person>}.
+ * The emitter itself is returned unchanged, its objects are blurred as they are sent.
+ *
+ * @author allurx
+ */
+public class BlurringEmitterTypeParser implements IndexedTypeParser<BlurringEmitter<Object>, AnnotatedParameterizedType> {
+
+    /**
+     * Default constructor
+     */
+    public BlurringEmitterTypeParser() {
+    }
+
+    @Override
+    public BlurringEmitter<Object> parse(BlurringEmitter<Object> emitter, AnnotatedParameterizedType annotatedParameterizedType) {
+        emitter.bind(BlurHandle.of(annotatedParameterizedType.getAnnotatedActualTypeArguments()[0], TypeParserRegistry.currentContext()));
+        return emitter;
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value instanceof BlurringEmitter && annotatedType instanceof AnnotatedParameterizedType;
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(BlurringEmitter.class);
+    }
+
+    @Override
+    public Class<? extends AnnotatedType> annotatedTypeKind() {
+        return AnnotatedParameterizedType.class;
+    }
+}
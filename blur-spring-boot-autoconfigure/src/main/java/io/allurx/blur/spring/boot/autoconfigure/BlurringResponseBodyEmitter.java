@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * {@link ResponseBodyEmitter} blurring every object it sends.
+ * <p>
+ * The element type is either given by an {@link AnnotatedTypeToken} or declared on the handler method, e.g.
+ * {@code public BlurringResponseBodyEmitter<@Cascade Person> stream()}, in which case the emitter is bound when the method returns.
+ * Each object is blurred as it is sent, so streaming stays incremental.
+ * </p>
+ *
+ * @param <T> the type of the sent objects
+ * @author allurx
+ * @see BlurringEmitterTypeParser
+ */
+public class BlurringResponseBodyEmitter<T> extends ResponseBodyEmitter implements BlurringEmitter<T> {
+
+    private final EmitterBlurBinding<T> binding;
+
+    /**
+     * Creates an emitter bound when it is returned from a blurred handler method.
+     */
+    public BlurringResponseBodyEmitter() {
+        this(null, (BlurHandle<T>) null);
+    }
+
+    /**
+     * Creates an emitter bound when it is returned from a blurred handler method.
+     *
+     * @param timeout the timeout value in milliseconds
+     */
+    public BlurringResponseBodyEmitter(Long timeout) {
+        this(timeout, (BlurHandle<T>) null);
+    }
+
+    /**
+     * Creates an emitter blurring the sent objects as the given annotated type.
+     *
+     * @param token the annotated type token of the sent objects
+     */
+    public BlurringResponseBodyEmitter(AnnotatedTypeToken<T> token) {
+        this(null, BlurHandle.of(token, TypeParserRegistry.currentContext()));
+    }
+
+    /**
+     * Creates an emitter blurring the sent objects as the given annotated type.
+     *
+     * @param timeout the timeout value in milliseconds
+     * @param token   the annotated type token of the sent objects
+     */
+    public BlurringResponseBodyEmitter(Long timeout, AnnotatedTypeToken<T> token) {
+        this(timeout, BlurHandle.of(token, TypeParserRegistry.currentContext()));
+    }
+
+    private BlurringResponseBodyEmitter(Long timeout, BlurHandle<T> handle) {
+        super(timeout);
+        this.binding = new EmitterBlurBinding<>(super::send, item -> true, handle);
+    }
+
+    @Override
+    public void send(Object object, MediaType mediaType) throws IOException {
+        binding.send(Set.of(new DataWithMediaType(object, mediaType)));
+    }
+
+    @Override
+    public void send(Set<DataWithMediaType> items) throws IOException {
+        binding.send(items);
+    }
+
+    @Override
+    public void complete() {
+        binding.complete(super::complete);
+    }
+
+    @Override
+    public void completeWithError(Throwable ex) {
+        binding.complete(() -> super.completeWithError(ex));
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        try {
+            binding.seal();
+        } catch (IOException e) {
+            completeWithError(e);
+        }
+    }
+
+    @Override
+    public void bind(BlurHandle<T> handle) {
+        try {
+            binding.bind(handle);
+        } catch (IOException e) {
+            completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * {@link SseEmitter} blurring every object it sends as an event's data.
+ * <p>
+ * The element type is either given by an {@link AnnotatedTypeToken} or declared on the handler method, e.g.
+ * {@code public BlurringSseEmitter<@Cascade Person> stream()}, in which case the emitter is bound when the method returns.
+ * Each object is blurred as it is sent, so streaming stays incremental.
+ * </p>
+ * <p>
+ * The objects passed to {@link #send(Object)} and {@link #send(Object, MediaType)}, and the data of the events sent
+ * with {@link #send(SseEventBuilder)}, e.g. {@code send(event().id(id).data(person))}, are blurred, while the event
+ * fields written by the event builder itself, such as its id, name or comment, are sent as is.
+ * </p>
+ *
+ * @param <T> the type of the sent objects
+ * @author allurx
+ * @see BlurringEmitterTypeParser
+ */
+public class BlurringSseEmitter<T> extends SseEmitter implements BlurringEmitter<T> {
+
+    /**
+     * The media type of the text written by an event builder around the data of the event.
+     */
+    private static final MediaType EVENT_TEXT = event().comment("").build().iterator().next().getMediaType();
+
+    private final EmitterBlurBinding<T> binding;
+
+    /**
+     * Creates an emitter bound when it is returned from a blurred handler method.
+     */
+    public BlurringSseEmitter() {
+        this(null, (BlurHandle<T>) null);
+    }
+
+    /**
+     * Creates an emitter bound when it is returned from a blurred handler method.
+     *
+     * @param timeout the timeout value in milliseconds
+     */
+    public BlurringSseEmitter(Long timeout) {
+        this(timeout, (BlurHandle<T>) null);
+    }
+
+    /**
+     * Creates an emitter blurring the sent objects as the given annotated type.
+     *
+     * @param token the annotated type token of the sent objects
+     */
+    public BlurringSseEmitter(AnnotatedTypeToken<T> token) {
+        this(null, BlurHandle.of(token, TypeParserRegistry.currentContext()));
+    }
+
+    /**
+     * Creates an emitter blurring the sent objects as the given annotated type.
+     *
+     * @param timeout the timeout value in milliseconds
+     * @param token   the annotated type token of the sent objects
+     */
+    public BlurringSseEmitter(Long timeout, AnnotatedTypeToken<T> token) {
+        this(timeout, BlurHandle.of(token, TypeParserRegistry.currentContext()));
+    }
+
+    private BlurringSseEmitter(Long timeout, BlurHandle<T> handle) {
+        super(timeout);
+        this.binding = new EmitterBlurBinding<>(super::send, item -> item.getMediaType() != EVENT_TEXT, handle);
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+        send(builder.build());
+    }
+
+    @Override
+    public void send(Set<DataWithMediaType> items) throws IOException {
+        binding.send(items);
+    }
+
+    @Override
+    public void complete() {
+        binding.complete(super::complete);
+    }
+
+    @Override
+    public void completeWithError(Throwable ex) {
+        binding.complete(() -> super.completeWithError(ex));
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        try {
+            binding.seal();
+        } catch (IOException e) {
+            completeWithError(e);
+        }
+    }
+
+    @Override
+    public void bind(BlurHandle<T> handle) {
+        try {
+            binding.bind(handle);
+        } catch (IOException e) {
+            completeWithError(e);
+        }
+    }
+}
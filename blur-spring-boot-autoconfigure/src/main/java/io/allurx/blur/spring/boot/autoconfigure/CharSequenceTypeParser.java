@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.AnnotationParser;
+import io.allurx.annotation.parser.handler.Parse;
+
+import java.lang.reflect.AnnotatedType;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Type parser masking {@code char[]}, {@link StringBuilder}, {@link StringBuffer} and {@link CharBuffer} values in place.
+ * <p>
+ * These values are blurred with the same annotation semantics as {@link String}: the blur annotations declared on
+ * the value's type, for example {@code char @Email []} or {@code @Email StringBuilder}, are applied as if the
+ * value were a {@link String}, and the result is written back into the original buffer, so that the caller keeps
+ * working with its own buffer.
+ * </p>
+ * <p>
+ * The blur annotation handlers only operate on {@link String}s, so the value is copied into a transient
+ * {@link String} to be blurred, and the blurred {@link String} is copied back. Both copies are left to the garbage
+ * collector and cannot be wiped; this parser does not keep secrets out of {@link String}s, it only keeps the
+ * original buffer from holding the raw value once it is blurred.
+ * </p>
+ * <p>
+ * Buffers are overwritten in place whenever the blurred value has the same length as the original, which is the
+ * case for most masking annotations. Otherwise {@link StringBuilder}s and {@link StringBuffer}s are still updated in
+ * place, while {@code char[]} and {@link CharBuffer} values, which cannot change their length, are wiped and replaced
+ * by a new instance holding the blurred value.
+ * </p>
+ *
+ * @author allurx
+ */
+public class CharSequenceTypeParser implements IndexedTypeParser<Object, AnnotatedType> {
+
+    /**
+     * Default constructor
+     */
+    public CharSequenceTypeParser() {
+    }
+
+    @Override
+    public Object parse(Object value, AnnotatedType annotatedType) {
+        AnnotatedType stringType = SyntheticAnnotatedType.of(String.class, annotatedType);
+        return switch (value) {
+            case char[] chars -> {
+                String blurred = AnnotationParser.parse(new String(chars), stringType);
+                if (blurred.length() == chars.length) {
+                    blurred.getChars(0, chars.length, chars, 0);
+                    yield chars;
+                }
+                Arrays.fill(chars, '\0');
+                yield blurred.toCharArray();
+            }
+            case StringBuilder stringBuilder -> {
+                String blurred = AnnotationParser.parse(stringBuilder.toString(), stringType);
+                wipe(stringBuilder);
+                yield stringBuilder.replace(0, stringBuilder.length(), blurred);
+            }
+            case StringBuffer stringBuffer -> {
+                String blurred = AnnotationParser.parse(stringBuffer.toString(), stringType);
+                wipe(stringBuffer);
+                yield stringBuffer.replace(0, stringBuffer.length(), blurred);
+            }
+            case CharBuffer charBuffer -> {
+                String blurred = AnnotationParser.parse(charBuffer.toString(), stringType);
+                if (charBuffer.isReadOnly()) {
+                    yield CharBuffer.wrap(blurred);
+                }
+                if (blurred.length() == charBuffer.remaining()) {
+                    charBuffer.duplicate().put(blurred);
+                    yield charBuffer;
+                }
+                CharBuffer wiped = charBuffer.duplicate();
+                while (wiped.hasRemaining()) {
+                    wiped.put('\0');
+                }
+                yield CharBuffer.wrap(blurred.toCharArray());
+            }
+            default -> value;
+        };
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return Arrays.stream(annotatedType.getDeclaredAnnotations()).anyMatch(annotation -> annotation.annotationType().isAnnotationPresent(Parse.class));
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(char[].class, StringBuilder.class, StringBuffer.class, CharBuffer.class);
+    }
+
+    /**
+     * Overwrites every character of the given builder, so that no copy of the original value
+     * remains in its backing array once it is replaced by a shorter one.
+     *
+     * @param stringBuilder the builder to wipe
+     */
+    private static void wipe(StringBuilder stringBuilder) {
+        for (int i = 0; i < stringBuilder.length(); i++) {
+            stringBuilder.setCharAt(i, '\0');
+        }
+    }
+
+    /**
+     * Overwrites every character of the given buffer, so that no copy of the original value
+     * remains in its backing array once it is replaced by a shorter one.
+     *
+     * @param stringBuffer the buffer to wipe
+     */
+    private static void wipe(StringBuffer stringBuffer) {
+        for (int i = 0; i < stringBuffer.length(); i++) {
+            stringBuffer.setCharAt(i, '\0');
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable mapping of result set columns to the blur annotations their values are masked with.
+ * <p>
+ * Rules are either declared column by column:
+ * </p>
+ * <pre>{@code
+ * ColumnBlurRules rules = ColumnBlurRules.builder()
+ *         .column("email", new AnnotatedTypeToken<@Email String>() {})
+ *         .build();
+ * }</pre>
+ * <p>
+ * or derived from the {@code String} fields of a target class carrying blur annotations, in which case a field
+ * matches both its lower-cased name and its underscored name, e.g. {@code phoneNumber} matches the columns
+ * {@code PHONENUMBER} and {@code phone_number}. Column labels are matched case-insensitively.
+ * </p>
+ * <p>
+ * The rules are owned by the application context set on the builder, or else by the context bound to the building
+ * thread, e.g. the context whose beans build them, see {@link TypeParserRegistry}.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurRowMapper
+ * @see BlurResultSetExtractor
+ */
+public final class ColumnBlurRules {
+
+    private final Map<String, BlurHandle<String>> handles;
+
+    private ColumnBlurRules(Map<String, BlurHandle<String>> handles) {
+        this.handles = Map.copyOf(handles);
+    }
+
+    /**
+     * Creates a builder declaring the rules column by column.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Derives the rules from the blur annotations declared on the {@code String} fields of the given class and its superclasses.
+     *
+     * @param type the class the rows are mapped to
+     * @return the rules masking the columns of the annotated fields
+     */
+    public static ColumnBlurRules of(Class<?> type) {
+        return builder().columns(type).build();
+    }
+
+    /**
+     * Returns the handle masking the given column.
+     *
+     * @param columnLabel the label of the column
+     * @return the handle masking the column, or {@code null} if the column is not masked
+     */
+    BlurHandle<String> handle(String columnLabel) {
+        return handles.get(columnLabel.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns whether no column is masked.
+     *
+     * @return {@code true} if no column is masked
+     */
+    public boolean isEmpty() {
+        return handles.isEmpty();
+    }
+
+    /**
+     * Builder of {@link ColumnBlurRules}.
+     *
+     * @author allurx
+     */
+    public static final class Builder {
+
+        private final Map<String, AnnotatedType> annotatedTypes = new HashMap<>();
+
+        private ApplicationContext context;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the application context owning the rules, whose type parsers the masked values are dispatched to.
+         *
+         * @param context the application context owning the rules
+         * @return this builder
+         */
+        public Builder context(ApplicationContext context) {
+            this.context = context;
+            return this;
+        }
+
+        /**
+         * Masks the given column as the annotated {@code String} type of the token.
+         *
+         * @param columnLabel the label of the column
+         * @param token       the annotated type token of the column values, e.g. {@code AnnotatedTypeToken<@Email String>}
+         * @return this builder
+         */
+        public Builder column(String columnLabel, AnnotatedTypeToken<String> token) {
+            annotatedTypes.put(columnLabel.toLowerCase(Locale.ROOT), token.getAnnotatedType());
+            return this;
+        }
+
+        /**
+         * Masks the columns of the {@code String} fields of the given class and its superclasses that carry blur annotations.
+         *
+         * @param type the class the rows are mapped to
+         * @return this builder
+         */
+        public Builder columns(Class<?> type) {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    AnnotatedType annotatedType = field.getAnnotatedType();
+                    if (Modifier.isStatic(field.getModifiers()) ||
+                            field.getType() != String.class ||
+                            !MethodBlurPlan.requiresBlur(annotatedType)) {
+                        continue;
+                    }
+                    annotatedTypes.putIfAbsent(field.getName().toLowerCase(Locale.ROOT), annotatedType);
+                    annotatedTypes.putIfAbsent(JdbcUtils.convertPropertyNameToUnderscoreName(field.getName()), annotatedType);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Builds the immutable rules.
+         *
+         * @return the rules
+         */
+        public ColumnBlurRules build() {
+            ApplicationContext owner = context != null ? context : TypeParserRegistry.currentContext();
+            Map<AnnotatedType, BlurHandle<String>> distinct = new IdentityHashMap<>();
+            Map<String, BlurHandle<String>> handles = new HashMap<>();
+            annotatedTypes.forEach((columnLabel, annotatedType) ->
+                    handles.put(columnLabel, distinct.computeIfAbsent(annotatedType, key -> BlurHandle.of(key, owner))));
+            return new ColumnBlurRules(handles);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Blurring state shared by {@link BlurringSseEmitter} and {@link BlurringResponseBodyEmitter}.
+ * <p>
+ * Once bound, objects are blurred by the sending thread and handed to the emitter right away, so streaming stays
+ * incremental. Before that, the objects sent, and the completion of the emitter, are held back under a
+ * {@link ReentrantLock} rather than a monitor, so that virtual threads sending to the emitter are never pinned.
+ * </p>
+ * <p>
+ * Objects are held back at most until the emitter is handed to Spring MVC, which happens after the blur advice of
+ * the handler method has bound it: an emitter still unbound by then, because its handler method is not advised or
+ * its element type declares nothing to blur, is sealed and drops its objects with a warning rather than sending them
+ * unblurred. An emitter meant to send its objects as is declares so with an annotated type token declaring nothing
+ * to blur, which binds it when it is created.
+ * </p>
+ *
+ * @param <T> the type of the sent objects
+ * @author allurx
+ */
+final class EmitterBlurBinding<T> {
+
+    private static final Log LOG = LogFactory.getLog(EmitterBlurBinding.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Sender sender;
+    private final Predicate<DataWithMediaType> sentObject;
+    private volatile boolean bound;
+    private volatile BlurHandle<T> handle;
+    private List<Set<DataWithMediaType>> pendingSends = new ArrayList<>();
+    private Runnable pendingCompletion;
+
+    /**
+     * Creates a binding.
+     *
+     * @param sender     the unblurred send operation of the emitter
+     * @param sentObject whether an item of a send carries a sent object, rather than framing added by the emitter
+     * @param handle     the handle blurring the sent objects, or {@code null} if the binding is bound later
+     */
+    EmitterBlurBinding(Sender sender, Predicate<DataWithMediaType> sentObject, BlurHandle<T> handle) {
+        this.sender = sender;
+        this.sentObject = sentObject;
+        if (handle != null) {
+            this.handle = handle;
+            this.pendingSends = null;
+            this.bound = true;
+        }
+    }
+
+    /**
+     * Blurs and sends the objects of the given items, or holds them back until the binding is bound.
+     *
+     * @param items the items to send together
+     * @throws IOException if the items cannot be sent
+     */
+    void send(Set<DataWithMediaType> items) throws IOException {
+        if (!bound) {
+            lock.lock();
+            try {
+                if (!bound) {
+                    Assert.state(pendingCompletion == null, "Blurring emitter has already completed");
+                    pendingSends.add(items);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (handle != null) {
+            sender.send(blur(items));
+        }
+    }
+
+    /**
+     * Completes the emitter, or holds the completion back until the items held back so far are flushed.
+     *
+     * @param completion the completion of the emitter
+     */
+    void complete(Runnable completion) {
+        if (!bound) {
+            lock.lock();
+            try {
+                if (!bound) {
+                    if (pendingCompletion == null) {
+                        pendingCompletion = completion;
+                    }
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        completion.run();
+    }
+
+    /**
+     * Binds the handle and flushes the items held back so far, in the order they were sent, followed by the
+     * completion held back, if any. Only the first binding takes effect, except that a binding whose handle is not
+     * owned by an application context, e.g. one created from a token in a handler method, adopts the context of the
+     * given handle.
+     *
+     * @param handle the handle blurring the sent objects
+     * @throws IOException if a held back item cannot be sent
+     */
+    void bind(BlurHandle<T> handle) throws IOException {
+        if (!bindOnce(handle) && handle != null && this.handle != null) {
+            lock.lock();
+            try {
+                this.handle = this.handle.ownedBy(handle.getContext());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Binds the binding, if still unbound, so that the items held back so far and those sent afterward are dropped,
+     * and runs the completion held back, if any.
+     *
+     * @throws IOException never, since no item is sent
+     */
+    void seal() throws IOException {
+        if (!bound && bindOnce(null)) {
+            LOG.warn("Blurring emitter was not bound to a blurred element type, its objects are dropped instead of being sent unblurred, " +
+                    "declare the element type on the return type of a blurred handler method or give it to the emitter as an annotated type token");
+        }
+    }
+
+    private boolean bindOnce(BlurHandle<T> handle) throws IOException {
+        lock.lock();
+        try {
+            if (bound) {
+                return false;
+            }
+            this.handle = handle;
+            List<Set<DataWithMediaType>> flushed = pendingSends;
+            Runnable completion = pendingCompletion;
+            pendingSends = null;
+            pendingCompletion = null;
+            try {
+                if (handle != null) {
+                    for (Set<DataWithMediaType> items : flushed) {
+                        sender.send(blur(items));
+                    }
+                }
+            } finally {
+                bound = true;
+            }
+            if (completion != null) {
+                completion.run();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<DataWithMediaType> blur(Set<DataWithMediaType> items) {
+        Set<DataWithMediaType> blurred = new LinkedHashSet<>();
+        for (DataWithMediaType item : items) {
+            blurred.add(sentObject.test(item) ?
+                    new DataWithMediaType(handle.blur((T) item.getData()), item.getMediaType()) :
+                    item);
+        }
+        return blurred;
+    }
+
+    /**
+     * Unblurred send operation of an emitter.
+     */
+    @FunctionalInterface
+    interface Sender {
+
+        /**
+         * Sends items together.
+         *
+         * @param items the items to send
+         * @throws IOException if the items cannot be sent
+         */
+        void send(Set<DataWithMediaType> items) throws IOException;
+    }
+}
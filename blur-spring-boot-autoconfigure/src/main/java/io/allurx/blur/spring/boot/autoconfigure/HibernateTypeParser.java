@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.AnnotationParser;
+import org.hibernate.Hibernate;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * Type parser that keeps the blur traversal from triggering Hibernate lazy loading.
+ * <p>
+ * Uninitialized {@link HibernateProxy} instances and uninitialized {@link PersistentCollection}s
+ * are returned untouched, so blurring an entity never issues additional SQL statements nor throws a
+ * {@code LazyInitializationException} outside the session. Initialized proxies are unwrapped and the
+ * underlying entity is parsed instead, because the fields of the proxy itself hold no state.
+ * </p>
+ * <p>
+ * This parser uses the highest precedence so that it is consulted before any other registered parser and
+ * before the built-in collection and cascade parsers, which would otherwise iterate or reflect over the lazy value.
+ * </p>
+ *
+ * @author allurx
+ * @see Hibernate#isInitialized(Object)
+ */
+public class HibernateTypeParser implements IndexedTypeParser<Object, AnnotatedType>, Ordered {
+
+    /**
+     * Default constructor
+     */
+    public HibernateTypeParser() {
+    }
+
+    @Override
+    public Object parse(Object value, AnnotatedType annotatedType) {
+        if (value instanceof HibernateProxy proxy && Hibernate.isInitialized(proxy)) {
+            return AnnotationParser.parse(proxy.getHibernateLazyInitializer().getImplementation(), annotatedType);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value instanceof HibernateProxy ||
+                (value instanceof PersistentCollection<?> && !Hibernate.isInitialized(value));
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(HibernateProxy.class, PersistentCollection.class);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
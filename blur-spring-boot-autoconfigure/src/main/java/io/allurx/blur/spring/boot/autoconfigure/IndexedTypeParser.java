@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.TypeParser;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * {@link TypeParser} that declares the raw types of the values it handles.
+ * <p>
+ * The {@link TypeParserRegistry} indexes such parsers by the runtime class of the parsed value and the kind of
+ * its {@link AnnotatedType}, so that {@link #support(Object, AnnotatedType)} is only called for values this parser
+ * can actually handle instead of for every node of every parsed object graph. Parsers that do not implement this
+ * interface are consulted for every value.
+ * </p>
+ *
+ * @param <T> the type of the values handled by this parser
+ * @param <A> the type of the {@link AnnotatedType} handled by this parser
+ * @author allurx
+ */
+public interface IndexedTypeParser<T, A extends AnnotatedType> extends TypeParser<T, A> {
+
+    /**
+     * Returns the raw types of the values handled by this parser. Values whose runtime class is assignable
+     * to none of these types are never passed to this parser.
+     *
+     * @return the raw types handled by this parser
+     */
+    Set<Class<?>> rawTypes();
+
+    /**
+     * Returns the kind of {@link AnnotatedType} handled by this parser, such as
+     * {@link java.lang.reflect.AnnotatedParameterizedType}. Defaults to every kind.
+     *
+     * @return the kind of {@link AnnotatedType} handled by this parser
+     */
+    default Class<? extends AnnotatedType> annotatedTypeKind() {
+        return AnnotatedType.class;
+    }
+
+    /**
+     * Not consulted: the {@link TypeParserRegistry} is the only parser known to the annotation parser, and it
+     * dispatches to the registered parsers in {@link org.springframework.core.Ordered} and
+     * {@link org.springframework.core.annotation.Order @Order} order instead.
+     *
+     * @return {@code 0}
+     */
+    @Override
+    default int order() {
+        return 0;
+    }
+}
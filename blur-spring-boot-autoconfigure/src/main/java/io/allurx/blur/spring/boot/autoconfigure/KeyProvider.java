@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+/**
+ * Provides the secret key of the {@link Pseudonymize keyed pseudonyms}, e.g. from a secret store.
+ * A {@link KeyProvider} bean takes precedence over the {@code blur.pseudonymization.key} property.
+ *
+ * @author allurx
+ * @see Pseudonymizer
+ */
+@FunctionalInterface
+public interface KeyProvider {
+
+    /**
+     * Returns the secret key of the pseudonyms.
+     *
+     * @return the raw bytes of the secret key
+     */
+    byte[] getKey();
+}
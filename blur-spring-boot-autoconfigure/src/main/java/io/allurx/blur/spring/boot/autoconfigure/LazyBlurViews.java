@@ -0,0 +1,386 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.Cascade;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Lazy blurring views returned by methods annotated with {@link BlurLazily}.
+ * <p>
+ * The shape of a return type is compiled once per method into a tree of {@link View}s, so creating a view
+ * neither inspects annotations nor blurs anything. Each value is blurred on first access, under a lock so that
+ * values blurred in place are never blurred twice, and then memoized. The {@link TenantBlurPolicy} applied when
+ * the view was created is applied again whenever the view blurs a value.
+ * </p>
+ *
+ * @author allurx
+ */
+final class LazyBlurViews {
+
+    /**
+     * Marker of a value not blurred yet.
+     */
+    private static final Object UNSET = new Object();
+
+    /**
+     * Marker of a {@code null} key or value in a memo.
+     */
+    private static final Object NULL = new Object();
+
+    private LazyBlurViews() {
+    }
+
+    /**
+     * Compiles the view of values of the given annotated type.
+     *
+     * @param annotatedType the annotated type of the values
+     * @param context       the application context owning the blurring, may be {@code null}
+     * @return the view of values of the annotated type
+     */
+    static View compile(AnnotatedType annotatedType, ApplicationContext context) {
+        if (!MethodBlurPlan.requiresBlur(annotatedType)) {
+            return value -> value;
+        }
+        if (annotatedType.getDeclaredAnnotations().length == 0 &&
+                annotatedType instanceof AnnotatedParameterizedType annotatedParameterizedType &&
+                annotatedParameterizedType.getType() instanceof ParameterizedType parameterizedType) {
+            AnnotatedType[] typeArguments = annotatedParameterizedType.getAnnotatedActualTypeArguments();
+            if (parameterizedType.getRawType() == List.class) {
+                return new ListView(compile(typeArguments[0], context), BlurHandle.of(annotatedType, context));
+            }
+            if (parameterizedType.getRawType() == Map.class && !MethodBlurPlan.requiresBlur(typeArguments[0])) {
+                return new MapView(compile(typeArguments[1], context), BlurHandle.of(annotatedType, context));
+            }
+        }
+        if (annotatedType.getDeclaredAnnotation(Cascade.class) != null &&
+                annotatedType.getType() instanceof Class<?> type &&
+                type.isInterface()) {
+            return new InterfaceView(type, BlurHandle.of(annotatedType, context), context);
+        }
+        BlurHandle<Object> handle = BlurHandle.of(annotatedType, context);
+        return handle::blur;
+    }
+
+    /**
+     * Compiled view of values of an annotated type.
+     */
+    @FunctionalInterface
+    interface View {
+
+        /**
+         * Returns the view of the given value.
+         *
+         * @param value the value to view
+         * @return a lazy view of the value, or the value blurred eagerly if it has no lazy view
+         */
+        Object view(Object value);
+    }
+
+    /**
+     * View of a {@code List} blurring each element on first access.
+     *
+     * @param element  the view of the elements
+     * @param fallback the handle blurring lists that are not views, e.g. {@code null}
+     */
+    private record ListView(View element, BlurHandle<Object> fallback) implements View {
+
+        @Override
+        public Object view(Object value) {
+            return value instanceof List<?> list ? new LazyList(list.toArray(), element, TenantBlurPolicy.current()) : fallback.blur(value);
+        }
+    }
+
+    /**
+     * View of a {@code Map} blurring each value on first access. Keys are not blurred.
+     *
+     * @param value    the view of the values
+     * @param fallback the handle blurring maps that are not views, e.g. {@code null}
+     */
+    private record MapView(View value, BlurHandle<Object> fallback) implements View {
+
+        @Override
+        public Object view(Object map) {
+            return map instanceof Map<?, ?> source ? new LazyMap(source, value, TenantBlurPolicy.current()) : fallback.blur(map);
+        }
+    }
+
+    /**
+     * View of a {@code @Cascade} interface blurring the value of each accessor on first call.
+     * The accessors are compiled on first use, so that interfaces referring to themselves compile lazily.
+     */
+    private static final class InterfaceView implements View {
+
+        private final Class<?> type;
+        private final BlurHandle<Object> fallback;
+        private final SingletonSupplier<Map<Method, View>> accessors;
+
+        InterfaceView(Class<?> type, BlurHandle<Object> fallback, ApplicationContext context) {
+            this.type = type;
+            this.fallback = fallback;
+            this.accessors = SingletonSupplier.of(() -> Arrays.stream(type.getMethods())
+                    .filter(method -> method.getParameterCount() == 0 &&
+                            method.getReturnType() != void.class &&
+                            !Modifier.isStatic(method.getModifiers()) &&
+                            MethodBlurPlan.requiresBlur(method.getAnnotatedReturnType()))
+                    .collect(Collectors.toUnmodifiableMap(method -> method, method -> compile(method.getAnnotatedReturnType(), context))));
+        }
+
+        @Override
+        public Object view(Object value) {
+            if (!type.isInstance(value)) {
+                return fallback.blur(value);
+            }
+            if (Proxy.isProxyClass(value.getClass()) && Proxy.getInvocationHandler(value) instanceof LazyProxy) {
+                return value;
+            }
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new LazyProxy(value, accessors.obtain(), TenantBlurPolicy.current()));
+        }
+    }
+
+    /**
+     * Memoizes blurred values. Blurring happens at most once per slot: concurrent first accesses wait on the lock.
+     */
+    private static final class Memo {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TenantBlurPolicy policy;
+
+        Memo(TenantBlurPolicy policy) {
+            this.policy = policy;
+        }
+
+        Object blurOnce(Supplier<Object> memoized, Supplier<Object> blur, Consumer<Object> memoize) {
+            Object value = memoized.get();
+            if (value != UNSET) {
+                return value;
+            }
+            lock.lock();
+            try {
+                value = memoized.get();
+                if (value == UNSET) {
+                    value = TenantBlurPolicy.callWith(policy, blur);
+                    memoize.accept(value);
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Read-only list blurring each element on first access.
+     */
+    private static final class LazyList extends AbstractList<Object> implements RandomAccess {
+
+        private final Object[] source;
+        private final View element;
+        private final AtomicReferenceArray<Object> blurred;
+        private final Memo memo;
+
+        LazyList(Object[] source, View element, TenantBlurPolicy policy) {
+            this.source = source;
+            this.element = element;
+            this.blurred = new AtomicReferenceArray<>(source.length);
+            for (int i = 0; i < source.length; i++) {
+                blurred.setPlain(i, UNSET);
+            }
+            this.memo = new Memo(policy);
+        }
+
+        @Override
+        public Object get(int index) {
+            return memo.blurOnce(() -> blurred.get(index), () -> element.view(source[index]), value -> blurred.set(index, value));
+        }
+
+        @Override
+        public int size() {
+            return source.length;
+        }
+    }
+
+    /**
+     * Read-only map blurring each value on first access.
+     */
+    private static final class LazyMap extends AbstractMap<Object, Object> {
+
+        private final Map<?, ?> source;
+        private final View value;
+        private final ConcurrentMap<Object, Object> blurred = new ConcurrentHashMap<>();
+        private final Memo memo;
+
+        LazyMap(Map<?, ?> source, View value, TenantBlurPolicy policy) {
+            this.source = source;
+            this.value = value;
+            this.memo = new Memo(policy);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return source.containsKey(key) ? blurredValue(key, source.get(key)) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return source.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public Iterator<Entry<Object, Object>> iterator() {
+                    Iterator<? extends Entry<?, ?>> entries = source.entrySet().iterator();
+                    return new Iterator<>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Object, Object> next() {
+                            Entry<?, ?> entry = entries.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), blurredValue(entry.getKey(), entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return source.size();
+                }
+            };
+        }
+
+        private Object blurredValue(Object key, Object sourceValue) {
+            Object memoKey = key == null ? NULL : key;
+            Object blurredValue = memo.blurOnce(
+                    () -> blurred.getOrDefault(memoKey, UNSET),
+                    () -> value.view(sourceValue),
+                    blurredOne -> blurred.put(memoKey, blurredOne == null ? NULL : blurredOne));
+            return blurredValue == NULL ? null : blurredValue;
+        }
+    }
+
+    /**
+     * Proxy of a {@code @Cascade} interface blurring the value of each blurred accessor on first call.
+     * <p>
+     * Default methods run against the proxy, so the accessors they call are blurred too. {@code toString} is built
+     * from the accessors of the proxy, and {@code equals} and {@code hashCode} use the identity of the proxy, so that
+     * none of them reveals the values of the target.
+     * </p>
+     */
+    private static final class LazyProxy implements InvocationHandler {
+
+        private final Object target;
+        private final Map<Method, View> accessors;
+        private final ConcurrentMap<Method, Object> blurred = new ConcurrentHashMap<>();
+        private final Memo memo;
+
+        LazyProxy(Object target, Map<Method, View> accessors, TenantBlurPolicy policy) {
+            this.target = target;
+            this.accessors = accessors;
+            this.memo = new Memo(policy);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            View accessor = accessors.get(method);
+            if (accessor != null) {
+                Object value = memo.blurOnce(
+                        () -> blurred.getOrDefault(method, UNSET),
+                        () -> accessor.view(invokeTarget(method, args)),
+                        blurredValue -> blurred.put(method, blurredValue == null ? NULL : blurredValue));
+                return value == NULL ? null : value;
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> toString(proxy);
+                };
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return invokeTarget(method, args);
+        }
+
+        private String toString(Object proxy) throws Throwable {
+            Class<?> type = proxy.getClass().getInterfaces()[0];
+            StringJoiner joiner = new StringJoiner(", ", type.getSimpleName() + "[", "]");
+            Method[] methods = type.getMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                if (method.getParameterCount() == 0 &&
+                        method.getReturnType() != void.class &&
+                        Modifier.isAbstract(method.getModifiers())) {
+                    joiner.add(method.getName() + "=" + invoke(proxy, method, null));
+                }
+            }
+            return joiner.toString();
+        }
+
+        private Object invokeTarget(Method method, Object[] args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException() instanceof RuntimeException runtimeException ?
+                        runtimeException :
+                        new IllegalStateException(e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
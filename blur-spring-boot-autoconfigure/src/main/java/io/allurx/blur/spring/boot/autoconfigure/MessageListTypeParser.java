@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.messaging.Message;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Type parser for handling batches of type {@code List<Message<T>>}, as received by batch listeners.
+ * <p>
+ * The payload type is resolved once per batch and every message is blurred in a single pass, instead of going
+ * through the generic collection parser and the {@link MessageTypeParser} for each element. The original list
+ * is returned if no message changed, otherwise a copy in which only the changed messages are replaced.
+ * </p>
+ *
+ * @author allurx
+ * @see MessageTypeParser
+ */
+public class MessageListTypeParser implements IndexedTypeParser<List<Message<Object>>, AnnotatedParameterizedType> {
+
+    /**
+     * Default constructor
+     */
+    public MessageListTypeParser() {
+    }
+
+    @Override
+    public List<Message<Object>> parse(List<Message<Object>> messages, AnnotatedParameterizedType annotatedParameterizedType) {
+        AnnotatedParameterizedType messageType = (AnnotatedParameterizedType) annotatedParameterizedType.getAnnotatedActualTypeArguments()[0];
+        AnnotatedType payloadType = messageType.getAnnotatedActualTypeArguments()[0];
+        List<Message<Object>> parsed = null;
+        int index = 0;
+        for (Message<Object> message : messages) {
+            Message<Object> blurred = MessageTypeParser.blur(message, payloadType);
+            if (blurred != message) {
+                if (parsed == null) {
+                    parsed = new ArrayList<>(messages);
+                }
+                parsed.set(index, blurred);
+            }
+            index++;
+        }
+        return parsed == null ? messages : parsed;
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value instanceof List &&
+                annotatedType instanceof AnnotatedParameterizedType annotatedParameterizedType &&
+                annotatedParameterizedType.getAnnotatedActualTypeArguments()[0] instanceof AnnotatedParameterizedType elementType &&
+                elementType.getType() instanceof ParameterizedType parameterizedType &&
+                parameterizedType.getRawType() instanceof Class<?> rawType &&
+                Message.class.isAssignableFrom(rawType);
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(List.class);
+    }
+
+    @Override
+    public Class<? extends AnnotatedType> annotatedTypeKind() {
+        return AnnotatedParameterizedType.class;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.AnnotationParser;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * Type parser for handling values of type {@link Message}.
+ * This parser processes the payload of the message based on its annotated parameterized type, e.g.
+ * {@code Message<@Cascade Person>}. A message whose payload is blurred in place is returned as is, otherwise the
+ * blurred payload is wrapped in a new message sharing the original {@link org.springframework.messaging.MessageHeaders}.
+ *
+ * @author allurx
+ * @see MessageListTypeParser
+ */
+public class MessageTypeParser implements IndexedTypeParser<Message<Object>, AnnotatedParameterizedType> {
+
+    /**
+     * Default constructor
+     */
+    public MessageTypeParser() {
+    }
+
+    @Override
+    public Message<Object> parse(Message<Object> message, AnnotatedParameterizedType annotatedParameterizedType) {
+        return blur(message, annotatedParameterizedType.getAnnotatedActualTypeArguments()[0]);
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value instanceof Message && annotatedType instanceof AnnotatedParameterizedType;
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(Message.class);
+    }
+
+    @Override
+    public Class<? extends AnnotatedType> annotatedTypeKind() {
+        return AnnotatedParameterizedType.class;
+    }
+
+    /**
+     * Blurs the payload of a message.
+     *
+     * @param message     the message, may be {@code null}
+     * @param payloadType the annotated type of the payload
+     * @return the message itself if its payload is unchanged, otherwise a new message with the blurred payload and the original headers
+     */
+    static Message<Object> blur(Message<Object> message, AnnotatedType payloadType) {
+        if (message == null) {
+            return null;
+        }
+        Object payload = message.getPayload();
+        Object parsed = AnnotationParser.parse(payload, payloadType);
+        return parsed == payload ? message : MessageBuilder.createMessage(parsed, message.getHeaders());
+    }
+}
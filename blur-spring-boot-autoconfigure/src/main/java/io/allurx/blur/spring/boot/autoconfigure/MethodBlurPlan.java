@@ -0,0 +1,372 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.handler.Parse;
+import io.allurx.annotation.parser.type.Cascade;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.AnnotatedTypeVariable;
+import java.lang.reflect.AnnotatedWildcardType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Precomputed blur plan of a method.
+ * <p>
+ * Analyzing the annotated types of a method's parameters and return type is reflective and comparatively
+ * expensive, so it is done once per method. The resulting plan holds a {@link BlurHandle} for every
+ * parameter and for the return value that requires blurring, and {@code null} for those that do not.
+ * </p>
+ *
+ * @author allurx
+ * @see BlurMethodInterceptor
+ */
+public final class MethodBlurPlan {
+
+    /**
+     * Synthetic value blurred during warm-up passes.
+     */
+    private static final String SYNTHETIC_VALUE = "12345678910@allurx.io";
+
+    /**
+     * Name of the request attribute holding the request bodies already blurred when read.
+     */
+    private static final String BLURRED_REQUEST_BODIES = MethodBlurPlan.class.getName() + ".BLURRED_REQUEST_BODIES";
+
+    private final BlurHandle<Object>[] parameterHandles;
+    private final BlurHandle<Object>[] bodyHandles;
+    private final boolean[] requestBodies;
+    private final BlurHandle<Object> returnHandle;
+    private final LazyBlurViews.View returnView;
+    private final boolean empty;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MethodBlurPlan(Method method, boolean blurRequestBodies, ApplicationContext context) {
+        Parameter[] parameters = method.getParameters();
+        this.parameterHandles = new BlurHandle[parameters.length];
+        this.bodyHandles = new BlurHandle[parameters.length];
+        this.requestBodies = new boolean[parameters.length];
+        boolean blurParameters = false;
+        for (int i = 0; i < parameters.length; i++) {
+            AnnotatedType annotatedType = parameters[i].getAnnotatedType();
+            if (requiresBlur(annotatedType)) {
+                parameterHandles[i] = BlurHandle.of(annotatedType, context);
+                bodyHandles[i] = bodyHandle(parameters[i], parameterHandles[i], context);
+                requestBodies[i] = !blurRequestBodies && parameters[i].isAnnotationPresent(RequestBody.class);
+                blurParameters = true;
+            }
+        }
+        AnnotatedType annotatedReturnType = method.getAnnotatedReturnType();
+        this.returnHandle = requiresBlur(annotatedReturnType) ? BlurHandle.of(annotatedReturnType, context) : null;
+        this.returnView = returnHandle != null && method.isAnnotationPresent(BlurLazily.class) ? LazyBlurViews.compile(annotatedReturnType, context) : null;
+        this.empty = !blurParameters && returnHandle == null;
+    }
+
+    /**
+     * Creates the blur plan of the given method.
+     *
+     * @param method the method to analyze
+     * @return the blur plan of the method
+     */
+    public static MethodBlurPlan of(Method method) {
+        return new MethodBlurPlan(method, true, null);
+    }
+
+    /**
+     * Creates the blur plan of the given method, optionally leaving its {@link RequestBody} arguments untouched
+     * when they were already blurred when read.
+     *
+     * @param method            the method to analyze
+     * @param blurRequestBodies whether the parameters annotated with {@link RequestBody} are blurred even if their
+     *                          argument was already blurred when read by a {@link BlurRequestBodyAdvice}
+     * @return the blur plan of the method
+     * @see BlurRequestBodyAdvice
+     */
+    public static MethodBlurPlan of(Method method, boolean blurRequestBodies) {
+        return new MethodBlurPlan(method, blurRequestBodies, null);
+    }
+
+    /**
+     * Creates the blur plan of the given method, whose values are dispatched to the type parsers of the given context.
+     *
+     * @param method            the method to analyze
+     * @param blurRequestBodies whether the parameters annotated with {@link RequestBody} are blurred even if their
+     *                          argument was already blurred when read by a {@link BlurRequestBodyAdvice}
+     * @param context           the application context owning the blurring, may be {@code null}
+     * @return the blur plan of the method
+     * @see TypeParserRegistry#callWith(ApplicationContext, java.util.function.Supplier)
+     */
+    public static MethodBlurPlan of(Method method, boolean blurRequestBodies, ApplicationContext context) {
+        return new MethodBlurPlan(method, blurRequestBodies, context);
+    }
+
+    /**
+     * Returns the blur plan of the given method held by the given cache, computing and caching it on first use.
+     * <p>
+     * The plan is computed outside of the cache rather than by {@link ConcurrentMap#computeIfAbsent}, which holds
+     * the monitor of a map bin while computing, so that a virtual thread analyzing a method never pins its carrier
+     * thread nor blocks the threads looking up other methods of the same bin. Concurrent first uses may compute
+     * the plan more than once, but all of them return the single plan that was cached.
+     * </p>
+     *
+     * @param plans             the cached blur plans
+     * @param method            the method to analyze
+     * @param blurRequestBodies whether the parameters annotated with {@link RequestBody} are blurred even if their
+     *                          argument was already blurred when read by a {@link BlurRequestBodyAdvice}
+     * @param context           the application context owning the blurring, may be {@code null}
+     * @return the cached blur plan of the method
+     */
+    static MethodBlurPlan cached(ConcurrentMap<Method, MethodBlurPlan> plans, Method method, boolean blurRequestBodies, ApplicationContext context) {
+        MethodBlurPlan plan = plans.get(method);
+        if (plan == null) {
+            MethodBlurPlan computed = of(method, blurRequestBodies, context);
+            plan = plans.putIfAbsent(method, computed);
+            return plan != null ? plan : computed;
+        }
+        return plan;
+    }
+
+    /**
+     * Returns whether neither the parameters nor the return value of the method require blurring.
+     *
+     * @return {@code true} if the method requires no blurring at all
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Blurs the arguments that require blurring in place.
+     *
+     * @param arguments the arguments of the method invocation
+     */
+    public void blurArguments(Object[] arguments) {
+        for (int i = 0; i < parameterHandles.length; i++) {
+            if (parameterHandles[i] != null && !(requestBodies[i] && isBlurredWhenRead(arguments[i]))) {
+                arguments[i] = parameterHandles[i].blur(arguments[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the argument at the given index requires blurring.
+     *
+     * @param index the index of the parameter
+     * @return {@code true} if the argument requires blurring
+     */
+    public boolean blursArgument(int index) {
+        return parameterHandles[index] != null;
+    }
+
+    /**
+     * Returns whether the request body read for the parameter at the given index requires blurring.
+     * The body of an {@link Optional} parameter is read unwrapped, so it requires blurring only if the type argument
+     * of the {@link Optional} does.
+     *
+     * @param index the index of the parameter
+     * @return {@code true} if the request body requires blurring
+     */
+    public boolean blursRequestBody(int index) {
+        return bodyHandles[index] != null;
+    }
+
+    /**
+     * Returns whether the return value requires blurring.
+     *
+     * @return {@code true} if the return value requires blurring
+     */
+    public boolean blursReturnValue() {
+        return returnHandle != null;
+    }
+
+    /**
+     * Returns whether the return value is returned as a lazy view of the original value, which it keeps a reference to.
+     *
+     * @return {@code true} if the method is annotated with {@link BlurLazily} and its return value requires blurring
+     */
+    public boolean returnsLazyView() {
+        return returnView != null;
+    }
+
+    /**
+     * Blurs the argument at the given index if it requires blurring.
+     *
+     * @param index    the index of the parameter
+     * @param argument the argument
+     * @return the blurred argument, or the given one if it requires no blurring
+     */
+    public Object blurArgument(int index, Object argument) {
+        return parameterHandles[index] != null && !(requestBodies[index] && isBlurredWhenRead(argument)) ?
+                parameterHandles[index].blur(argument) :
+                argument;
+    }
+
+    /**
+     * Blurs the request body read for the parameter at the given index if it requires blurring, and records it as
+     * blurred when read only if it was. The body of an {@link Optional} parameter is blurred according to the type
+     * argument of the {@link Optional}, since it is read unwrapped.
+     *
+     * @param index the index of the parameter
+     * @param body  the request body, unwrapped from its {@link Optional} if any
+     * @return the blurred request body, or the given one if it requires no blurring
+     * @see BlurRequestBodyAdvice
+     */
+    public Object blurRequestBody(int index, Object body) {
+        return bodyHandles[index] != null ? markBlurredWhenRead(bodyHandles[index].blur(body)) : body;
+    }
+
+    /**
+     * Records a request body blurred right after it was read, so that the plans leaving such bodies untouched do not
+     * blur it again when the handler method is invoked with it during the current request.
+     *
+     * @param body the blurred request body
+     * @return the given body
+     * @see BlurRequestBodyAdvice
+     */
+    private static Object markBlurredWhenRead(Object body) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (body != null && requestAttributes != null) {
+            @SuppressWarnings("unchecked")
+            Set<Object> bodies = (Set<Object>) requestAttributes.getAttribute(BLURRED_REQUEST_BODIES, RequestAttributes.SCOPE_REQUEST);
+            if (bodies == null) {
+                bodies = Collections.newSetFromMap(new IdentityHashMap<>());
+                requestAttributes.setAttribute(BLURRED_REQUEST_BODIES, bodies, RequestAttributes.SCOPE_REQUEST);
+            }
+            bodies.add(body);
+        }
+        return body;
+    }
+
+    /**
+     * Blurs the return value if it requires blurring, or returns a lazy view of it if the method is annotated
+     * with {@link BlurLazily}.
+     *
+     * @param returnValue the return value of the method invocation
+     * @return the blurred return value, or the given one if it requires no blurring
+     */
+    public Object blurReturnValue(Object returnValue) {
+        if (returnView != null) {
+            return returnView.view(returnValue);
+        }
+        return returnHandle != null ? returnHandle.blur(returnValue) : returnValue;
+    }
+
+    /**
+     * Runs synthetic blur passes over every {@link String} parameter and return value of the method,
+     * so that the blur path is already compiled when the first real invocation arrives.
+     * Failures are ignored, since the synthetic value may not be valid for every annotation.
+     *
+     * @param passes the number of passes to run
+     */
+    public void warmUp(int passes) {
+        for (int pass = 0; pass < passes; pass++) {
+            for (BlurHandle<Object> parameterHandle : parameterHandles) {
+                warmUp(parameterHandle);
+            }
+            warmUp(returnHandle);
+        }
+    }
+
+    /**
+     * Returns whether the given argument is a request body already blurred when read during the current request.
+     * Arguments of direct calls, made outside of a request or with another object, are not.
+     *
+     * @param argument the argument of a {@link RequestBody} parameter, possibly wrapped in an {@link Optional}
+     * @return {@code true} if the argument was blurred when read
+     */
+    private static boolean isBlurredWhenRead(Object argument) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (argument == null || requestAttributes == null) {
+            return false;
+        }
+        Object body = argument instanceof Optional<?> optional ? optional.orElse(null) : argument;
+        return requestAttributes.getAttribute(BLURRED_REQUEST_BODIES, RequestAttributes.SCOPE_REQUEST) instanceof Set<?> bodies &&
+                bodies.contains(body);
+    }
+
+    private static BlurHandle<Object> bodyHandle(Parameter parameter, BlurHandle<Object> parameterHandle, ApplicationContext context) {
+        if (parameter.getType() != Optional.class) {
+            return parameterHandle;
+        }
+        return parameter.getAnnotatedType() instanceof AnnotatedParameterizedType annotatedParameterizedType &&
+                requiresBlur(annotatedParameterizedType.getAnnotatedActualTypeArguments()[0]) ?
+                BlurHandle.of(annotatedParameterizedType.getAnnotatedActualTypeArguments()[0], context) :
+                null;
+    }
+
+    private static void warmUp(BlurHandle<Object> handle) {
+        if (handle != null && handle.getAnnotatedType().getType() == String.class) {
+            try {
+                handle.blur(SYNTHETIC_VALUE);
+            } catch (RuntimeException ignored) {
+                // the synthetic value is only used to exercise the blur path
+            }
+        }
+    }
+
+    /**
+     * Determines if an object, identified by its {@link AnnotatedType}, requires blurring.
+     * Objects marked with blur-related annotations are processed, while others are skipped
+     * to maintain performance by avoiding redundant processing or object creation.
+     * <p>
+     * Although using a dedicated {@code @Blur} annotation might simplify identification,
+     * this method avoids extra annotations by dynamically analyzing the presence of blur-triggering annotations.
+     * </p>
+     * <p>
+     * {@link Pseudonymize} is the only annotation of this module checked by name: it is handled by the
+     * {@link PseudonymizeTypeParser} of each application context rather than by a {@link Parse} handler, since such
+     * handlers are instantiated by the annotation parser itself and could not reach the pseudonymization key of the
+     * context.
+     * </p>
+     *
+     * @param annotatedType the {@link AnnotatedType} of the object to evaluate
+     * @return {@code true} if the object requires blurring, {@code false} otherwise
+     */
+    static boolean requiresBlur(AnnotatedType annotatedType) {
+        return Arrays.stream(annotatedType.getDeclaredAnnotations()).anyMatch(annotation -> annotation.annotationType().isAnnotationPresent(Parse.class)) ||
+                annotatedType.getDeclaredAnnotation(Cascade.class) != null ||
+                annotatedType.getDeclaredAnnotation(Pseudonymize.class) != null ||
+                switch (annotatedType) {
+                    case AnnotatedTypeVariable annotatedTypeVariable ->
+                            Arrays.stream(annotatedTypeVariable.getAnnotatedBounds()).anyMatch(MethodBlurPlan::requiresBlur);
+                    case AnnotatedWildcardType annotatedWildcardType ->
+                            Stream.of(annotatedWildcardType.getAnnotatedUpperBounds(), annotatedWildcardType.getAnnotatedLowerBounds())
+                                    .flatMap(Arrays::stream)
+                                    .anyMatch(MethodBlurPlan::requiresBlur);
+                    case AnnotatedParameterizedType annotatedParameterizedType ->
+                            Arrays.stream(annotatedParameterizedType.getAnnotatedActualTypeArguments())
+                                    .anyMatch(MethodBlurPlan::requiresBlur);
+                    case AnnotatedArrayType annotatedArrayType ->
+                            requiresBlur(annotatedArrayType.getAnnotatedGenericComponentType());
+                    default -> false;
+                };
+    }
+}
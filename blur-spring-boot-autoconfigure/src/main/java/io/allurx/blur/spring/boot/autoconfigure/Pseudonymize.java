@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Replaces a {@link String} with a stable keyed pseudonym instead of masking it.
+ * <p>
+ * The same value always maps to the same pseudonym for a given key, so pseudonymized values can still be joined,
+ * grouped and counted by downstream consumers, while the original value cannot be recovered without the key.
+ * The annotation can be used anywhere the blur annotations are, e.g. {@code @Pseudonymize String email} or
+ * {@code List<@Pseudonymize String>}.
+ * </p>
+ *
+ * @author allurx
+ * @see Pseudonymizer
+ * @see PseudonymizeTypeParser
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE_USE})
+public @interface Pseudonymize {
+}
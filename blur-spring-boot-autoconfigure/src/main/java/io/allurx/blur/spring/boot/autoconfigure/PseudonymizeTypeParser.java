@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Type parser replacing {@link String}s annotated with {@link Pseudonymize} by their keyed pseudonym.
+ * <p>
+ * The {@link Pseudonymizer} is resolved on first use, so that applications not using {@link Pseudonymize}
+ * need no pseudonymization key.
+ * </p>
+ *
+ * @author allurx
+ */
+public class PseudonymizeTypeParser implements IndexedTypeParser<String, AnnotatedType> {
+
+    private final SingletonSupplier<Pseudonymizer> pseudonymizer;
+
+    /**
+     * Creates a parser using the given pseudonymizer.
+     *
+     * @param pseudonymizer the pseudonymizer
+     */
+    public PseudonymizeTypeParser(Pseudonymizer pseudonymizer) {
+        this(() -> pseudonymizer);
+    }
+
+    /**
+     * Creates a parser using the pseudonymizer supplied on first use.
+     *
+     * @param pseudonymizerSupplier the supplier of the pseudonymizer, invoked at most once
+     */
+    public PseudonymizeTypeParser(Supplier<Pseudonymizer> pseudonymizerSupplier) {
+        this.pseudonymizer = SingletonSupplier.of(pseudonymizerSupplier);
+    }
+
+    @Override
+    public String parse(String value, AnnotatedType annotatedType) {
+        return pseudonymizer.obtain().pseudonymize(value);
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value instanceof String && annotatedType.getDeclaredAnnotation(Pseudonymize.class) != null;
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(String.class);
+    }
+}
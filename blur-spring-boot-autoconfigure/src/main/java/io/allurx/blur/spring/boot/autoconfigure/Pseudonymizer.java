@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Computes deterministic keyed pseudonyms: the HMAC-SHA256 of a value, truncated to a number of bytes and encoded
+ * as unpadded base64url.
+ * <p>
+ * {@link Mac} instances are neither thread-safe nor cheap to create, so they are kept in a pool: each computation
+ * borrows an instance, uses it confined to the current thread and returns it. Unlike a {@link ThreadLocal}, the
+ * pool does not grow with the number of threads, which matters with virtual threads: it holds at most as many
+ * instances as there are processors, a computation finding the pool empty uses a new instance, which is dropped
+ * rather than returned when the pool is full.
+ * </p>
+ * <p>
+ * An optional cache short-circuits repeated values. Since a hit reorders the least recently used entries, every
+ * read of the cache is a write, so the cache is split into segments selected by the hash of the value, each one
+ * evicting its own least recently used pseudonym once it holds its share of the maximum number of entries and
+ * guarded by its own {@link java.util.concurrent.locks.Lock}: threads reading different values rarely contend, and
+ * virtual threads are never pinned. Eviction is therefore least recently used per segment rather than across the
+ * whole cache. The cache is keyed on the original values, which therefore stay in memory for as long as they are
+ * cached; disable it when that is not acceptable.
+ * </p>
+ *
+ * @author allurx
+ * @see Pseudonymize
+ */
+public final class Pseudonymizer {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final int tokenBytes;
+    private final BlockingQueue<Mac> macs = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private final LruCache cache;
+
+    /**
+     * Creates a pseudonymizer.
+     *
+     * @param key        the secret key
+     * @param tokenBytes the number of leading HMAC bytes kept in a pseudonym, between 1 and 32
+     * @param cacheSize  the maximum number of cached pseudonyms, {@code 0} disables the cache
+     */
+    public Pseudonymizer(byte[] key, int tokenBytes, int cacheSize) {
+        if (key == null || key.length == 0) {
+            throw new IllegalArgumentException("The pseudonymization key must not be empty");
+        }
+        if (tokenBytes < 1 || tokenBytes > 32) {
+            throw new IllegalArgumentException("tokenBytes must be between 1 and 32: " + tokenBytes);
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+        }
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        this.tokenBytes = tokenBytes;
+        this.cache = cacheSize == 0 ? null : new LruCache(cacheSize);
+        macs.offer(newMac());
+    }
+
+    /**
+     * Returns the pseudonym of the given value.
+     *
+     * @param value the value to pseudonymize
+     * @return the pseudonym, or {@code null} if the value is {@code null}
+     */
+    public String pseudonymize(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (cache == null) {
+            return compute(value);
+        }
+        String pseudonym = cache.get(value);
+        if (pseudonym == null) {
+            pseudonym = compute(value);
+            cache.put(value, pseudonym);
+        }
+        return pseudonym;
+    }
+
+    private String compute(String value) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(tokenBytes == digest.length ? digest : Arrays.copyOf(digest, tokenBytes));
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Cache of pseudonyms bounded to a maximum number of entries, split into segments evicting their least recently
+     * used entry independently.
+     */
+    private static final class LruCache {
+
+        private final Segment[] segments;
+        private final int segmentShift;
+
+        LruCache(int maxSize) {
+            int count = Integer.highestOneBit(Math.min(maxSize, 4 * Runtime.getRuntime().availableProcessors()));
+            this.segments = new Segment[count];
+            this.segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(count);
+            for (int i = 0; i < count; i++) {
+                segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+            }
+        }
+
+        String get(String value) {
+            return segment(value).get(value);
+        }
+
+        void put(String value, String pseudonym) {
+            segment(value).put(value, pseudonym);
+        }
+
+        /**
+         * Selects the segment of a value from the high bits of its mixed hash, so that the low bits, which select
+         * the bucket of the value within the segment, stay spread.
+         */
+        private Segment segment(String value) {
+            return segments.length == 1 ? segments[0] : segments[(value.hashCode() * 0x9E3779B9) >>> segmentShift];
+        }
+    }
+
+    /**
+     * Least recently used segment of the cache, bounded to a maximum number of entries.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, String> pseudonyms;
+
+        Segment(int maxSize) {
+            this.pseudonyms = new LinkedHashMap<>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        String get(String value) {
+            lock.lock();
+            try {
+                return pseudonyms.get(value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String value, String pseudonym) {
+            lock.lock();
+            try {
+                pseudonyms.put(value, pseudonym);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.AnnotationParser;
+import io.allurx.annotation.parser.type.Cascade;
+import org.springframework.core.Ordered;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Type parser for {@code @Cascade} {@link Record} values.
+ * <p>
+ * The fields of a record are final and cannot be blurred in place, so a blurred record is rebuilt through its
+ * canonical constructor. The {@link MethodHandle}s of the component accessors and of the canonical constructor are
+ * created once per record class, together with the annotated types of the components that require blurring, so
+ * parsing a record neither reflects nor inspects annotations. A record none of whose components changed is returned
+ * as is, and components blurred in place, e.g. mutable {@code @Cascade} objects, keep the original record.
+ * </p>
+ * <p>
+ * This parser is consulted right after the highest-precedence parsers, and like every registered parser before the
+ * built-in cascade parser which would otherwise try to write the final fields of the record.
+ * </p>
+ *
+ * @author allurx
+ */
+public class RecordTypeParser implements IndexedTypeParser<Record, AnnotatedType>, Ordered {
+
+    private static final ClassValue<RecordShape> SHAPES = new ClassValue<>() {
+
+        @Override
+        protected RecordShape computeValue(Class<?> type) {
+            return RecordShape.of(type);
+        }
+    };
+
+    /**
+     * Default constructor
+     */
+    public RecordTypeParser() {
+    }
+
+    @Override
+    public Record parse(Record value, AnnotatedType annotatedType) {
+        return SHAPES.get(value.getClass()).blur(value);
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value instanceof Record && annotatedType.getDeclaredAnnotation(Cascade.class) != null;
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(Record.class);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    /**
+     * Method handles of a record class.
+     *
+     * @param accessors      the accessors of the components, as {@code (Object)Object}
+     * @param componentTypes the annotated types of the components, {@code null} for those that require no blurring
+     * @param constructor    the canonical constructor, as {@code (Object[])Object}
+     * @param empty          whether no component requires blurring
+     */
+    private record RecordShape(MethodHandle[] accessors,
+                               AnnotatedType[] componentTypes,
+                               MethodHandle constructor,
+                               boolean empty) {
+
+        static RecordShape of(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            MethodHandle[] accessors = new MethodHandle[components.length];
+            AnnotatedType[] componentTypes = new AnnotatedType[components.length];
+            boolean empty = true;
+            RecordTypeParser.class.getModule().addReads(type.getModule());
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                for (int i = 0; i < components.length; i++) {
+                    var accessor = components[i].getAccessor();
+                    accessor.trySetAccessible();
+                    accessors[i] = lookup.unreflect(accessor).asType(MethodType.methodType(Object.class, Object.class));
+                    if (MethodBlurPlan.requiresBlur(components[i].getAnnotatedType())) {
+                        componentTypes[i] = components[i].getAnnotatedType();
+                        empty = false;
+                    }
+                }
+                Constructor<?> canonicalConstructor = type.getDeclaredConstructor(
+                        Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+                canonicalConstructor.trySetAccessible();
+                MethodHandle constructor = lookup.unreflectConstructor(canonicalConstructor)
+                        .asType(MethodType.genericMethodType(components.length))
+                        .asSpreader(Object[].class, components.length);
+                return new RecordShape(accessors, componentTypes, constructor, empty);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Record " + type.getName() + " is not accessible, open its package to the blur module", e);
+            }
+        }
+
+        Record blur(Record record) {
+            if (empty) {
+                return record;
+            }
+            try {
+                Object[] values = null;
+                for (int i = 0; i < componentTypes.length; i++) {
+                    if (componentTypes[i] == null) {
+                        continue;
+                    }
+                    Object value = accessors[i].invokeExact((Object) record);
+                    Object parsed = AnnotationParser.parse(value, componentTypes[i]);
+                    if (parsed != value) {
+                        if (values == null) {
+                            values = new Object[accessors.length];
+                            for (int j = 0; j < accessors.length; j++) {
+                                values[j] = accessors[j].invokeExact((Object) record);
+                            }
+                        }
+                        values[i] = parsed;
+                    }
+                }
+                return values == null ? record : (Record) (Object) constructor.invokeExact(values);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -17,21 +17,22 @@
 package io.allurx.blur.spring.boot.autoconfigure;
 
 import io.allurx.annotation.parser.AnnotationParser;
-import io.allurx.annotation.parser.type.TypeParser;
 import org.springframework.http.ResponseEntity;
 
 import java.lang.reflect.AnnotatedParameterizedType;
 import java.lang.reflect.AnnotatedType;
+import java.util.Set;
 
 /**
  * Type parser for handling return values of type {@link ResponseEntity}.
  * This parser processes the body of the response entity based on its annotated parameterized type.
  *
  * @author allurx
+ * @deprecated {@link ResponseEntity} is registered in the {@link WrapperTypeRegistry} by default and blurred by the
+ * {@link WrapperTypeParser}, which also reuses response entities whose body is unchanged
  */
-public class ResponseEntityTypeParser implements TypeParser<ResponseEntity<Object>, AnnotatedParameterizedType> {
-
-    private final int order = AnnotationParser.randomOrder();
+@Deprecated
+public class ResponseEntityTypeParser implements IndexedTypeParser<ResponseEntity<Object>, AnnotatedParameterizedType> {
 
     /**
      * Default constructor
@@ -52,7 +53,12 @@ public class ResponseEntityTypeParser implements TypeParser<ResponseEntity<Objec
     }
 
     @Override
-    public int order() {
-        return order;
+    public Set<Class<?>> rawTypes() {
+        return Set.of(ResponseEntity.class);
+    }
+
+    @Override
+    public Class<? extends AnnotatedType> annotatedTypeKind() {
+        return AnnotatedParameterizedType.class;
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.type.Cascade;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * {@link AnnotatedType} built at runtime from a type and a set of annotations, for values whose annotations
+ * are not declared on the type they are blurred as.
+ *
+ * @param type        the type
+ * @param annotations the annotations present on the type
+ * @author allurx
+ */
+record SyntheticAnnotatedType(Type type, Annotation[] annotations) implements AnnotatedType {
+
+    /**
+     * A {@link Cascade} instance, synthesized from the annotation type since it declares no attributes.
+     */
+    private static final Cascade CASCADE = AnnotationUtils.synthesizeAnnotation(Cascade.class);
+
+    /**
+     * Creates an annotated type of the given class annotated with {@link Cascade}, so that values of the class are
+     * blurred according to the blur annotations declared on its fields.
+     *
+     * @param type the class of the values
+     * @return an annotated type of the given class annotated with {@link Cascade}
+     */
+    static AnnotatedType cascade(Class<?> type) {
+        return new SyntheticAnnotatedType(type, new Annotation[]{CASCADE});
+    }
+
+    /**
+     * Creates an annotated type of the given type carrying the annotations of another annotated type.
+     *
+     * @param type   the type
+     * @param source the annotated type whose annotations are carried over
+     * @return an annotated type of the given type with the annotations of the source
+     */
+    static AnnotatedType of(Type type, AnnotatedType source) {
+        return new SyntheticAnnotatedType(type, source.getDeclaredAnnotations());
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+        return Arrays.stream(annotations)
+                .filter(annotationClass::isInstance)
+                .map(annotationClass::cast)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Annotation[] getAnnotations() {
+        return annotations.clone();
+    }
+
+    @Override
+    public Annotation[] getDeclaredAnnotations() {
+        return annotations.clone();
+    }
+}
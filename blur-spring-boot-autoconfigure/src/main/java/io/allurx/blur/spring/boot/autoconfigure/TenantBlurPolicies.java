@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-tenant blur policies, compiled from {@link BlurProperties#getTenants()} into an immutable snapshot keyed by tenant id.
+ * <p>
+ * Picking the policy of an invocation resolves the tenant id and performs a single map lookup, without reading any
+ * configuration. When the policies change, {@link #update(Map)} compiles a new snapshot and swaps it atomically,
+ * so in-flight invocations keep the policy they started with.
+ * </p>
+ *
+ * @author allurx
+ * @see TenantResolver
+ * @see TenantBlurPolicy
+ */
+public final class TenantBlurPolicies {
+
+    private final TenantResolver tenantResolver;
+    private final AtomicReference<Map<String, TenantBlurPolicy>> snapshot = new AtomicReference<>(Map.of());
+
+    /**
+     * Creates the policies of the given tenants.
+     *
+     * @param tenantResolver the resolver of the current tenant
+     * @param tenants        the policy configuration per tenant id
+     */
+    public TenantBlurPolicies(TenantResolver tenantResolver, Map<String, BlurProperties.Tenant> tenants) {
+        this.tenantResolver = tenantResolver;
+        update(tenants);
+    }
+
+    /**
+     * Returns the policy of the current tenant.
+     *
+     * @return the policy of the current tenant, or {@link TenantBlurPolicy#DEFAULT} if the tenant has no policy
+     */
+    public TenantBlurPolicy current() {
+        return current(snapshot.get());
+    }
+
+    /**
+     * Returns the policy of the current tenant within the given snapshot, e.g. a snapshot published together with
+     * other refreshed state.
+     *
+     * @param policies the compiled policies per tenant id
+     * @return the policy of the current tenant, or {@link TenantBlurPolicy#DEFAULT} if the tenant has no policy
+     */
+    public TenantBlurPolicy current(Map<String, TenantBlurPolicy> policies) {
+        String tenantId = tenantResolver.resolveTenantId();
+        return tenantId == null ? TenantBlurPolicy.DEFAULT : policies.getOrDefault(tenantId, TenantBlurPolicy.DEFAULT);
+    }
+
+    /**
+     * Returns the compiled policies of the current snapshot.
+     *
+     * @return an immutable map of the policies per tenant id
+     */
+    public Map<String, TenantBlurPolicy> policies() {
+        return snapshot.get();
+    }
+
+    /**
+     * Compiles the given tenant configuration and atomically replaces the current snapshot with it.
+     *
+     * @param tenants the policy configuration per tenant id
+     */
+    public void update(Map<String, BlurProperties.Tenant> tenants) {
+        publish(compile(tenants));
+    }
+
+    /**
+     * Atomically replaces the current snapshot with already compiled policies.
+     *
+     * @param policies the compiled policies per tenant id
+     * @see #compile(Map)
+     */
+    public void publish(Map<String, TenantBlurPolicy> policies) {
+        snapshot.set(Map.copyOf(policies));
+    }
+
+    /**
+     * Compiles the given tenant configuration without publishing it.
+     *
+     * @param tenants the policy configuration per tenant id
+     * @return an immutable map of the compiled policies per tenant id
+     */
+    public static Map<String, TenantBlurPolicy> compile(Map<String, BlurProperties.Tenant> tenants) {
+        Map<String, TenantBlurPolicy> policies = new HashMap<>();
+        tenants.forEach((tenantId, tenant) ->
+                policies.put(tenantId, new TenantBlurPolicy(tenant.isEnabled(), tenant.getExcludedAnnotations())));
+        return Map.copyOf(policies);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Immutable, compiled blur policy of a tenant.
+ * <p>
+ * A policy either disables blurring altogether or excludes some blur annotations, whose values are then left
+ * untouched. Whether an annotated type carries an excluded annotation is evaluated on each lookup rather than
+ * memoized: annotated types built at runtime have no stable identity, so a cache keyed on them would only grow,
+ * and a value carries few enough annotations that checking them against a hash set is cheap.
+ * </p>
+ *
+ * @author allurx
+ * @see TenantBlurPolicies
+ */
+public final class TenantBlurPolicy {
+
+    /**
+     * Policy blurring every annotated value, used for invocations without a configured tenant.
+     */
+    public static final TenantBlurPolicy DEFAULT = new TenantBlurPolicy(true, Set.of());
+
+    private static final ThreadLocal<TenantBlurPolicy> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Set<Class<? extends Annotation>> excludedAnnotations;
+
+    /**
+     * Creates a policy.
+     *
+     * @param enabled             whether blurring is enabled
+     * @param excludedAnnotations the blur annotations whose values are left untouched
+     */
+    public TenantBlurPolicy(boolean enabled, Set<Class<? extends Annotation>> excludedAnnotations) {
+        this.enabled = enabled;
+        this.excludedAnnotations = Set.copyOf(excludedAnnotations);
+    }
+
+    /**
+     * Returns whether blurring is enabled.
+     *
+     * @return {@code true} if blurring is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the blur annotations whose values are left untouched.
+     *
+     * @return the excluded blur annotations
+     */
+    public Set<Class<? extends Annotation>> getExcludedAnnotations() {
+        return excludedAnnotations;
+    }
+
+    /**
+     * Returns whether this policy blurs every annotated value, as {@link #DEFAULT} does.
+     *
+     * @return {@code true} if blurring is enabled and no annotation is excluded
+     */
+    public boolean blursEverything() {
+        return enabled && excludedAnnotations.isEmpty();
+    }
+
+    /**
+     * Blurs the arguments of a method according to this policy.
+     *
+     * @param plan      the blur plan of the method
+     * @param arguments the arguments to blur in place
+     */
+    public void blurArguments(MethodBlurPlan plan, Object[] arguments) {
+        if (!enabled) {
+            return;
+        }
+        if (excludedAnnotations.isEmpty()) {
+            plan.blurArguments(arguments);
+            return;
+        }
+        TenantBlurPolicy previous = enter();
+        try {
+            plan.blurArguments(arguments);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Blurs a single argument of a method according to this policy.
+     *
+     * @param plan     the blur plan of the method
+     * @param index    the index of the parameter
+     * @param argument the argument to blur
+     * @return the blurred argument
+     */
+    public Object blurArgument(MethodBlurPlan plan, int index, Object argument) {
+        if (!enabled) {
+            return argument;
+        }
+        if (excludedAnnotations.isEmpty()) {
+            return plan.blurArgument(index, argument);
+        }
+        TenantBlurPolicy previous = enter();
+        try {
+            return plan.blurArgument(index, argument);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Blurs the request body read for a parameter of a method according to this policy.
+     *
+     * @param plan  the blur plan of the method
+     * @param index the index of the parameter
+     * @param body  the request body, unwrapped from its {@link java.util.Optional} if any
+     * @return the blurred request body
+     * @see MethodBlurPlan#blurRequestBody(int, Object)
+     */
+    public Object blurRequestBody(MethodBlurPlan plan, int index, Object body) {
+        if (!enabled) {
+            return body;
+        }
+        if (excludedAnnotations.isEmpty()) {
+            return plan.blurRequestBody(index, body);
+        }
+        TenantBlurPolicy previous = enter();
+        try {
+            return plan.blurRequestBody(index, body);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Blurs the return value of a method according to this policy.
+     *
+     * @param plan        the blur plan of the method
+     * @param returnValue the return value to blur
+     * @return the blurred return value
+     */
+    public Object blurReturnValue(MethodBlurPlan plan, Object returnValue) {
+        if (!enabled) {
+            return returnValue;
+        }
+        if (excludedAnnotations.isEmpty()) {
+            return plan.blurReturnValue(returnValue);
+        }
+        TenantBlurPolicy previous = enter();
+        try {
+            return plan.blurReturnValue(returnValue);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Returns whether the given annotated type carries an annotation excluded by this policy.
+     *
+     * @param annotatedType the annotated type of a value
+     * @return {@code true} if the value must be left untouched
+     */
+    boolean excludes(AnnotatedType annotatedType) {
+        for (Annotation annotation : annotatedType.getDeclaredAnnotations()) {
+            if (excludedAnnotations.contains(annotation.annotationType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the policy applied by the current thread, if it excludes any annotation.
+     *
+     * @return the current policy, or {@code null} if every annotated value is blurred
+     */
+    static TenantBlurPolicy current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the given action with the given policy applied by the current thread, e.g. when a lazy view created
+     * under a policy blurs a value later.
+     *
+     * @param policy the policy to apply, or {@code null} to blur every annotated value
+     * @param action the action to run
+     * @param <T>    the result type of the action
+     * @return the result of the action
+     */
+    static <T> T callWith(TenantBlurPolicy policy, Supplier<T> action) {
+        TenantBlurPolicy previous = CURRENT.get();
+        if (previous == policy) {
+            return action.get();
+        }
+        if (policy == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(policy);
+        }
+        try {
+            return action.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    private TenantBlurPolicy enter() {
+        TenantBlurPolicy previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    private static void exit(TenantBlurPolicy previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
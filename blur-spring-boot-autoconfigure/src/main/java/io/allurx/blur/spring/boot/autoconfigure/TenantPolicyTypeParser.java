@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * Type parser leaving untouched the values whose blur annotations are excluded by the {@link TenantBlurPolicy}
+ * of the current invocation.
+ * <p>
+ * This parser uses the highest precedence so that it is consulted before the parsers and annotation handlers
+ * that would otherwise blur the value. It only supports values while a policy with excluded annotations is applied,
+ * and is only indexed for the character values blur annotations apply to, so that objects and collections cascaded
+ * into are never offered to it and their blurred elements are excluded one by one.
+ * </p>
+ *
+ * @author allurx
+ * @see TenantBlurPolicy#blurArguments(MethodBlurPlan, Object[])
+ * @see TenantBlurPolicy#blurReturnValue(MethodBlurPlan, Object)
+ */
+public class TenantPolicyTypeParser implements IndexedTypeParser<Object, AnnotatedType>, Ordered {
+
+    /**
+     * Default constructor
+     */
+    public TenantPolicyTypeParser() {
+    }
+
+    @Override
+    public Object parse(Object value, AnnotatedType annotatedType) {
+        return value;
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        TenantBlurPolicy policy = TenantBlurPolicy.current();
+        return policy != null && policy.excludes(annotatedType);
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(CharSequence.class, char[].class);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
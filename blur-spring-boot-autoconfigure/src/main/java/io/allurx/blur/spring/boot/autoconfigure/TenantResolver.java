@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+/**
+ * Resolves the tenant the current invocation is performed for, e.g. from a request header or the security context.
+ * Declaring a {@link TenantResolver} bean enables the per-tenant blur policies configured under {@code blur.tenants}.
+ *
+ * @author allurx
+ * @see TenantBlurPolicies
+ */
+@FunctionalInterface
+public interface TenantResolver {
+
+    /**
+     * Resolves the identifier of the current tenant.
+     *
+     * @return the tenant identifier, or {@code null} if the invocation is not performed for a specific tenant
+     */
+    String resolveTenantId();
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.AnnotationParser;
+import io.allurx.annotation.parser.type.TypeParser;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.AnnotatedTypeVariable;
+import java.lang.reflect.AnnotatedWildcardType;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the {@link TypeParser} beans of every running {@link ApplicationContext}.
+ * <p>
+ * {@link AnnotationParser} keeps its type parsers in a static, JVM-global list that cannot shrink. Instead of
+ * adding every {@link TypeParser} bean to that list, the registry itself is added once and delegates to the
+ * parsers registered per application context. Parsers are removed again when their context is closed, so
+ * DevTools restarts and test suites with many cached contexts neither grow the global list nor keep parsers
+ * of dead contexts reachable.
+ * </p>
+ * <p>
+ * Dispatch is scoped to a context as well: a value is only handed to the parsers of the context that owns the
+ * blurring, which is bound to the blurring thread by {@link #callWith(ApplicationContext, Supplier)}. The blur
+ * interceptor, the request body advice, the GraphQL instrumentation and the handles compiled by a {@link BlurTemplate}
+ * bind their context, so one application's tenant or wrapper parsers never apply to the values of another.
+ * While a context is being refreshed, it is bound to the refreshing thread as well, so that the handles and rules
+ * built by its beans capture it. A bound context whose parsers are not registered yet dispatches to none of them.
+ * When no context is bound at all, the parsers of the only registered context are used; while several contexts are
+ * registered, the owner of the value is ambiguous and dispatch fails with an {@link IllegalStateException} rather
+ * than silently skipping every registered parser.
+ * </p>
+ * <p>
+ * The registered parsers are held in an immutable snapshot that is replaced with copy-on-write semantics,
+ * so that parsing threads read it without any locking.
+ * </p>
+ * <p>
+ * Within a context, parsers are consulted in the order they were registered in, which follows
+ * {@link org.springframework.core.Ordered}, {@link org.springframework.core.annotation.Order @Order} and bean
+ * registration order. Parsers implementing {@link IndexedTypeParser} are indexed by the runtime class of the value
+ * and the kind of its {@link AnnotatedType}, so that each snapshot resolves the candidate parsers for a class once
+ * instead of scanning every parser for every value.
+ * </p>
+ *
+ * @author allurx
+ */
+public final class TypeParserRegistry implements TypeParser<Object, AnnotatedType> {
+
+    private static final TypeParserRegistry INSTANCE = new TypeParserRegistry();
+    private static final ThreadLocal<ApplicationContext> CURRENT = new ThreadLocal<>();
+    private final AtomicBoolean installed = new AtomicBoolean();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    private TypeParserRegistry() {
+    }
+
+    /**
+     * Returns the registry shared by all application contexts.
+     *
+     * @return the shared {@link TypeParserRegistry}
+     */
+    public static TypeParserRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the type parsers of the given application context, replacing any parsers registered before for it.
+     * The registry is added to the {@link AnnotationParser} on first registration.
+     *
+     * @param context the application context owning the parsers
+     * @param parsers the type parsers to register
+     */
+    public void register(ApplicationContext context, Collection<TypeParser<?, ?>> parsers) {
+        List<TypeParser<?, ?>> copy = List.copyOf(parsers);
+        snapshot.updateAndGet(current -> current.with(context, copy));
+        if (installed.compareAndSet(false, true)) {
+            AnnotationParser.addTypeParser(this);
+        }
+    }
+
+    /**
+     * Removes the type parsers of the given application context.
+     *
+     * @param context the application context whose parsers should be removed
+     */
+    public void deregister(ApplicationContext context) {
+        snapshot.updateAndGet(current -> current.without(context));
+    }
+
+    /**
+     * Returns the type parsers currently registered across all application contexts, in registration order.
+     *
+     * @return an immutable list of the registered type parsers
+     */
+    public List<TypeParser<?, ?>> typeParsers() {
+        return snapshot.get().parsers;
+    }
+
+    /**
+     * Returns the type parsers currently registered for the given application context, in dispatch order.
+     *
+     * @param context the application context owning the parsers
+     * @return an immutable list of the type parsers of the context, empty if it is not registered
+     */
+    public List<TypeParser<?, ?>> typeParsers(ApplicationContext context) {
+        Dispatch dispatch = snapshot.get().dispatches.get(context);
+        return dispatch != null ? dispatch.parsers() : List.of();
+    }
+
+    /**
+     * Runs the given action with values dispatched to the parsers of the given application context.
+     *
+     * @param context the application context owning the blurring, or {@code null} to leave the current binding as is
+     * @param action  the action to run
+     * @param <T>     the result type of the action
+     * @return the result of the action
+     */
+    public <T> T callWith(ApplicationContext context, Supplier<T> action) {
+        ApplicationContext previous = CURRENT.get();
+        if (context == null || previous == context) {
+            return action.get();
+        }
+        CURRENT.set(context);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Binds the given application context to the current thread while it is being refreshed.
+     *
+     * @param context the application context being refreshed
+     * @see BlurApplicationRunListener
+     */
+    void bind(ApplicationContext context) {
+        CURRENT.set(context);
+    }
+
+    /**
+     * Unbinds the given application context from the current thread once it is refreshed, unless another one is bound.
+     *
+     * @param context the refreshed application context
+     * @see BlurApplicationRunListener
+     */
+    void unbind(ApplicationContext context) {
+        if (CURRENT.get() == context) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Returns the application context bound to the current thread by {@link #callWith(ApplicationContext, Supplier)}.
+     *
+     * @return the bound application context, or {@code null} if none is bound
+     */
+    static ApplicationContext currentContext() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object parse(Object value, AnnotatedType annotatedType) {
+        TypeParser<Object, AnnotatedType> typeParser = snapshot.get().find(CURRENT.get(), value, annotatedType);
+        return typeParser != null ? typeParser.parse(value, annotatedType) : value;
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return snapshot.get().find(CURRENT.get(), value, annotatedType) != null;
+    }
+
+    /**
+     * Uses the highest precedence so that registered parsers are consulted before the built-in ones.
+     *
+     * @return {@link Integer#MIN_VALUE}
+     */
+    @Override
+    public int order() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Immutable snapshot of the registered type parsers.
+     *
+     * @param dispatches the dispatch of every application context, in registration order
+     * @param parsers    the type parsers of all application contexts, in registration order
+     */
+    private record Snapshot(Map<ApplicationContext, Dispatch> dispatches, List<TypeParser<?, ?>> parsers) {
+
+        static final Snapshot EMPTY = of(Map.of());
+
+        Snapshot with(ApplicationContext context, List<TypeParser<?, ?>> typeParsers) {
+            Map<ApplicationContext, Dispatch> copy = new LinkedHashMap<>(dispatches);
+            copy.put(context, Dispatch.of(typeParsers));
+            return of(copy);
+        }
+
+        Snapshot without(ApplicationContext context) {
+            if (!dispatches.containsKey(context)) {
+                return this;
+            }
+            Map<ApplicationContext, Dispatch> copy = new LinkedHashMap<>(dispatches);
+            copy.remove(context);
+            return of(copy);
+        }
+
+        static Snapshot of(Map<ApplicationContext, Dispatch> dispatches) {
+            return new Snapshot(Collections.unmodifiableMap(dispatches),
+                    dispatches.values().stream().flatMap(dispatch -> dispatch.parsers().stream()).toList());
+        }
+
+        TypeParser<Object, AnnotatedType> find(ApplicationContext context, Object value, AnnotatedType annotatedType) {
+            Dispatch dispatch = context != null ? dispatches.get(context) : unbound();
+            return dispatch != null ? dispatch.find(value, annotatedType) : null;
+        }
+
+        private Dispatch unbound() {
+            return switch (dispatches.size()) {
+                case 0 -> null;
+                case 1 -> dispatches.values().iterator().next();
+                default -> throw new IllegalStateException("Cannot tell which of the " + dispatches.size() +
+                        " registered application contexts owns the blurred value, create the blur handle within its context or bind it with TypeParserRegistry.callWith");
+            };
+        }
+    }
+
+    /**
+     * Type parsers of one application context, indexed for dispatch.
+     *
+     * @param parsers the type parsers, in dispatch order
+     * @param index   the candidate parsers per runtime class and {@link AnnotatedType} kind
+     */
+    private record Dispatch(List<TypeParser<?, ?>> parsers, ClassValue<TypeParser<?, ?>[][]> index) {
+
+        /**
+         * The kinds of {@link AnnotatedType}, the index of each kind being its dispatch key.
+         */
+        static final List<Class<? extends AnnotatedType>> KINDS = List.of(
+                AnnotatedType.class,
+                AnnotatedParameterizedType.class,
+                AnnotatedArrayType.class,
+                AnnotatedTypeVariable.class,
+                AnnotatedWildcardType.class
+        );
+
+        static Dispatch of(List<TypeParser<?, ?>> parsers) {
+            ClassValue<TypeParser<?, ?>[][]> index = new ClassValue<>() {
+
+                @Override
+                protected TypeParser<?, ?>[][] computeValue(Class<?> type) {
+                    return KINDS.stream()
+                            .map(kind -> parsers.stream()
+                                    .filter(parser -> !(parser instanceof IndexedTypeParser<?, ?> indexedTypeParser) ||
+                                            (indexedTypeParser.annotatedTypeKind().isAssignableFrom(kind) &&
+                                                    indexedTypeParser.rawTypes().stream().anyMatch(rawType -> rawType.isAssignableFrom(type))))
+                                    .toArray(TypeParser<?, ?>[]::new))
+                            .toArray(TypeParser<?, ?>[][]::new);
+                }
+            };
+            return new Dispatch(parsers, index);
+        }
+
+        @SuppressWarnings("unchecked")
+        TypeParser<Object, AnnotatedType> find(Object value, AnnotatedType annotatedType) {
+            if (value == null || parsers.isEmpty()) {
+                return null;
+            }
+            for (TypeParser<?, ?> parser : index.get(value.getClass())[kind(annotatedType)]) {
+                if (parser.support(value, annotatedType)) {
+                    return (TypeParser<Object, AnnotatedType>) parser;
+                }
+            }
+            return null;
+        }
+
+        static int kind(AnnotatedType annotatedType) {
+            return switch (annotatedType) {
+                case AnnotatedParameterizedType ignored -> 1;
+                case AnnotatedArrayType ignored -> 2;
+                case AnnotatedTypeVariable ignored -> 3;
+                case AnnotatedWildcardType ignored -> 4;
+                default -> 0;
+            };
+        }
+    }
+}
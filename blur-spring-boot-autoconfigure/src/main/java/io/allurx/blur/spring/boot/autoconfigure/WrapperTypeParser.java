@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import io.allurx.annotation.parser.AnnotationParser;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * Type parser blurring the payload of every wrapper type registered in a {@link WrapperTypeRegistry}.
+ * The payload is blurred according to the annotated type argument the wrapper type declares, and the wrapper is
+ * rebuilt around the blurred payload only if the payload changed.
+ *
+ * @author allurx
+ * @see WrapperTypeRegistry
+ */
+public class WrapperTypeParser implements IndexedTypeParser<Object, AnnotatedParameterizedType> {
+
+    private final WrapperTypeRegistry registry;
+
+    /**
+     * Constructor for {@link WrapperTypeParser}.
+     *
+     * @param registry the registry of the wrapper types to blur
+     */
+    public WrapperTypeParser(WrapperTypeRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object parse(Object wrapper, AnnotatedParameterizedType annotatedParameterizedType) {
+        WrapperTypeRegistry.WrapperType wrapperType = registry.find(wrapper.getClass());
+        try {
+            Object payload = wrapperType.payload().invokeExact(wrapper);
+            Object parsed = AnnotationParser.parse(payload, annotatedParameterizedType.getAnnotatedActualTypeArguments()[wrapperType.typeArgumentIndex()]);
+            return parsed == payload ? wrapper : wrapperType.rebuild().invokeExact(wrapper, parsed);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        if (value == null || !(annotatedType instanceof AnnotatedParameterizedType annotatedParameterizedType)) {
+            return false;
+        }
+        WrapperTypeRegistry.WrapperType wrapperType = registry.find(value.getClass());
+        return wrapperType != null && wrapperType.typeArgumentIndex() < annotatedParameterizedType.getAnnotatedActualTypeArguments().length;
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return registry.types();
+    }
+
+    @Override
+    public Class<? extends AnnotatedType> annotatedTypeKind() {
+        return AnnotatedParameterizedType.class;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Registry of wrapper types whose payload is blurred according to one of their type arguments, e.g.
+ * {@code ResponseEntity<@Cascade Person>} or {@code Optional<@Email String>}.
+ * <p>
+ * Each wrapper type is declared by its payload accessor, the index of the type argument describing the payload and
+ * the way the wrapper is rebuilt around a blurred payload, instead of by a hand-written type parser. Accessors and
+ * rebuild functions are turned into {@link MethodHandle}s once, when the registry is built, and a
+ * {@link WrapperTypeParser} blurs every registered wrapper type. A wrapper whose payload is unchanged is reused.
+ * </p>
+ * <pre>{@code
+ * WrapperTypeRegistry.builder()
+ *         .withDefaults()
+ *         .wrapper(CustomizedResponse.class, "getData", 0, "setData")
+ *         .build();
+ * }</pre>
+ * <p>
+ * When several registered types match a value, the most specific one is used, so that a {@link ResponseEntity} is
+ * not rebuilt as a plain {@link HttpEntity}.
+ * </p>
+ *
+ * @author allurx
+ * @see WrapperTypeRegistryCustomizer
+ */
+public final class WrapperTypeRegistry {
+
+    private static final MethodType PAYLOAD_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType REBUILD_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+    private static final MethodHandle FUNCTION_APPLY;
+    private static final MethodHandle BI_FUNCTION_APPLY;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            FUNCTION_APPLY = lookup.findVirtual(Function.class, "apply", PAYLOAD_TYPE);
+            BI_FUNCTION_APPLY = lookup.findVirtual(BiFunction.class, "apply", REBUILD_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Map<Class<?>, WrapperType> wrapperTypes;
+    private final ClassValue<Optional<WrapperType>> index = new ClassValue<>() {
+
+        @Override
+        protected Optional<WrapperType> computeValue(Class<?> type) {
+            return wrapperTypes.values().stream()
+                    .filter(wrapperType -> wrapperType.type().isAssignableFrom(type))
+                    .reduce((candidate, other) -> candidate.type().isAssignableFrom(other.type()) ? other : candidate);
+        }
+    };
+
+    private WrapperTypeRegistry(Map<Class<?>, WrapperType> wrapperTypes) {
+        this.wrapperTypes = Map.copyOf(wrapperTypes);
+    }
+
+    /**
+     * Creates a new builder of a registry.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the registered wrapper types.
+     *
+     * @return the registered wrapper types
+     */
+    public Set<Class<?>> types() {
+        return wrapperTypes.keySet();
+    }
+
+    /**
+     * Returns the most specific wrapper type registered for the given runtime class.
+     *
+     * @param type the runtime class of a value
+     * @return the wrapper type, or {@code null} if none is registered for the class
+     */
+    WrapperType find(Class<?> type) {
+        return index.get(type).orElse(null);
+    }
+
+    /**
+     * Wrapper type compiled to method handles.
+     *
+     * @param type              the wrapper type
+     * @param payload           the payload accessor, as {@code (Object)Object}
+     * @param typeArgumentIndex the index of the type argument describing the payload
+     * @param rebuild           the function rebuilding the wrapper around a payload, as {@code (Object, Object)Object}
+     */
+    record WrapperType(Class<?> type, MethodHandle payload, int typeArgumentIndex, MethodHandle rebuild) {
+    }
+
+    /**
+     * Builder of a {@link WrapperTypeRegistry}. A wrapper type registered twice keeps its last declaration.
+     */
+    public static final class Builder {
+
+        private final Map<Class<?>, WrapperType> wrapperTypes = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers {@link Optional}, {@link HttpEntity}, {@link RequestEntity} and {@link ResponseEntity}.
+         *
+         * @return this builder
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Builder withDefaults() {
+            wrapper((Class<Optional<Object>>) (Class) Optional.class, optional -> optional.orElse(null), 0, (optional, value) -> Optional.ofNullable(value));
+            wrapper((Class<HttpEntity<Object>>) (Class) HttpEntity.class, HttpEntity::getBody, 0, (entity, body) -> new HttpEntity<>(body, entity.getHeaders()));
+            wrapper((Class<RequestEntity<Object>>) (Class) RequestEntity.class, HttpEntity::getBody, 0, WrapperTypeRegistry::rebuild);
+            wrapper((Class<ResponseEntity<Object>>) (Class) ResponseEntity.class, HttpEntity::getBody, 0, (entity, body) -> new ResponseEntity<>(body, entity.getHeaders(), entity.getStatusCode()));
+            return this;
+        }
+
+        /**
+         * Registers a wrapper type by the names of its methods, e.g. as declared in {@code blur.wrappers}.
+         * <p>
+         * The payload accessor is a public no-arg instance method. The rebuild method is either a public instance
+         * method taking the payload, which returns the rebuilt wrapper or, if {@code void}, updates the wrapper in place,
+         * or a public static method taking the payload, or the wrapper and the payload, which returns the rebuilt wrapper.
+         * </p>
+         *
+         * @param type              the wrapper type
+         * @param payloadAccessor   the name of the payload accessor, e.g. {@code getData}
+         * @param typeArgumentIndex the index of the type argument describing the payload
+         * @param rebuild           the name of the rebuild method, e.g. {@code setData}
+         * @return this builder
+         */
+        public Builder wrapper(Class<?> type, String payloadAccessor, int typeArgumentIndex, String rebuild) {
+            try {
+                Method accessor = type.getMethod(payloadAccessor);
+                Assert.isTrue(!Modifier.isStatic(accessor.getModifiers()), () -> "Payload accessor " + accessor + " must be an instance method");
+                return register(new WrapperType(type, MethodHandles.publicLookup().unreflect(accessor).asType(PAYLOAD_TYPE), typeArgumentIndex, rebuildHandle(type, rebuild)));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Invalid wrapper type " + type.getName(), e);
+            }
+        }
+
+        /**
+         * Registers a wrapper type by functions.
+         *
+         * @param type              the wrapper type
+         * @param payloadAccessor   the function returning the payload of a wrapper
+         * @param typeArgumentIndex the index of the type argument describing the payload
+         * @param rebuild           the function rebuilding a wrapper around a blurred payload
+         * @param <W>               the wrapper type
+         * @return this builder
+         */
+        public <W> Builder wrapper(Class<W> type,
+                                   Function<? super W, ?> payloadAccessor,
+                                   int typeArgumentIndex,
+                                   BiFunction<? super W, Object, ? extends W> rebuild) {
+            return register(new WrapperType(type, FUNCTION_APPLY.bindTo(payloadAccessor), typeArgumentIndex, BI_FUNCTION_APPLY.bindTo(rebuild)));
+        }
+
+        /**
+         * Builds the registry.
+         *
+         * @return the registry
+         */
+        public WrapperTypeRegistry build() {
+            return new WrapperTypeRegistry(wrapperTypes);
+        }
+
+        private Builder register(WrapperType wrapperType) {
+            Assert.isTrue(wrapperType.typeArgumentIndex() >= 0 && wrapperType.typeArgumentIndex() < wrapperType.type().getTypeParameters().length,
+                    () -> "Type argument index " + wrapperType.typeArgumentIndex() + " is out of the type parameters of " + wrapperType.type().getName());
+            wrapperTypes.put(wrapperType.type(), wrapperType);
+            return this;
+        }
+
+        private static MethodHandle rebuildHandle(Class<?> type, String name) throws IllegalAccessException {
+            List<Method> candidates = new ArrayList<>(Arrays.stream(type.getMethods())
+                    .filter(method -> method.getName().equals(name))
+                    .filter(method -> Modifier.isStatic(method.getModifiers()) ?
+                            method.getParameterCount() == 2 && method.getParameterTypes()[0].isAssignableFrom(type) ||
+                                    method.getParameterCount() == 1 && type.isAssignableFrom(method.getReturnType()) :
+                            method.getParameterCount() == 1)
+                    .toList());
+            Assert.isTrue(candidates.size() == 1, () -> "Expected exactly one rebuild method " + name + " in " + type.getName() + " but found " + candidates);
+            Method method = candidates.getFirst();
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 1) {
+                return MethodHandles.dropArguments(handle.asType(PAYLOAD_TYPE), 0, Object.class);
+            }
+            if (method.getReturnType() == void.class) {
+                MethodHandle self = MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, Object.class);
+                return MethodHandles.foldArguments(self, handle.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+            }
+            return handle.asType(REBUILD_TYPE);
+        }
+    }
+
+    /**
+     * Rebuilds a {@link RequestEntity}, keeping the URI template of entities created from one.
+     *
+     * @param entity the entity to rebuild
+     * @param body   the blurred body
+     * @return the rebuilt entity
+     */
+    private static RequestEntity<Object> rebuild(RequestEntity<Object> entity, Object body) {
+        if (entity instanceof RequestEntity.UriTemplateRequestEntity<Object> template && entity.getMethod() != null) {
+            RequestEntity.BodyBuilder builder = template.getVarsMap() != null ?
+                    RequestEntity.method(entity.getMethod(), template.getUriTemplate(), template.getVarsMap()) :
+                    RequestEntity.method(entity.getMethod(), template.getUriTemplate(), template.getVars() != null ? template.getVars() : new Object[0]);
+            builder.headers(entity.getHeaders());
+            return entity.getType() != null ? builder.body(body, entity.getType()) : builder.body(body);
+        }
+        return new RequestEntity<>(body, entity.getHeaders(), entity.getMethod(), entity.getUrl(), entity.getType());
+    }
+}
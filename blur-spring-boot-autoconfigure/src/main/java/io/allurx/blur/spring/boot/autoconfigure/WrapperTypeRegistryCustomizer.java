@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.autoconfigure;
+
+/**
+ * Callback customizing the {@link WrapperTypeRegistry} built by the autoconfiguration, after the default wrapper
+ * types and those declared in {@code blur.wrappers} are registered.
+ *
+ * @author allurx
+ */
+@FunctionalInterface
+public interface WrapperTypeRegistryCustomizer {
+
+    /**
+     * Customizes the registry being built.
+     *
+     * @param builder the builder of the registry
+     */
+    void customize(WrapperTypeRegistry.Builder builder);
+}
@@ -22,12 +22,25 @@ module io.allurx.blur.spring.boot.autoconfigure {
     requires org.aspectj.weaver;
     requires spring.aop;
     requires spring.core;
+    requires spring.jcl;
     requires spring.web;
     requires spring.context;
     requires spring.boot;
     requires spring.boot.autoconfigure;
+    requires static spring.tx;
     requires io.allurx.blur;
     requires io.allurx.kit.base;
     requires io.allurx.annotation.parser;
+    requires static org.hibernate.orm.core;
+    requires static spring.batch.infrastructure;
+    requires static spring.jdbc;
+    requires static spring.messaging;
+    requires static spring.webmvc;
+    requires static spring.graphql;
+    requires static com.graphqljava;
+    requires static spring.hateoas;
+    requires static spring.boot.actuator;
+    requires static spring.boot.actuator.autoconfigure;
+    requires java.sql;
     exports io.allurx.blur.spring.boot.autoconfigure;
 }
\ No newline at end of file
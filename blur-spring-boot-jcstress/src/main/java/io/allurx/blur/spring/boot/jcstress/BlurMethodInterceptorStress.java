@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.jcstress;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurMethodInterceptor;
+import io.allurx.blur.spring.boot.autoconfigure.MethodBlurPlan;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.StaticMethodMatcher;
+
+import java.lang.reflect.Method;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Stress tests of the blur plan cache and the refreshable state of the {@link BlurMethodInterceptor}.
+ *
+ * @author allurx
+ */
+public final class BlurMethodInterceptorStress {
+
+    private BlurMethodInterceptorStress() {
+    }
+
+    /**
+     * Two threads compute the blur plan of the same method on first use.
+     */
+    @JCStressTest
+    @Description("Concurrent population of the blur plan cache")
+    @Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Both threads share the cached plan")
+    @Outcome(id = "false, .*", expect = FORBIDDEN, desc = "The threads got different plans")
+    @Outcome(id = "true, false", expect = FORBIDDEN, desc = "The cached plan was replaced")
+    @State
+    public static class PlanPopulation {
+
+        private final BlurMethodInterceptor interceptor = new BlurMethodInterceptor();
+        private MethodBlurPlan first;
+        private MethodBlurPlan second;
+
+        /**
+         * Default constructor
+         */
+        public PlanPopulation() {
+        }
+
+        /**
+         * Computes the plan from the first thread.
+         */
+        @Actor
+        public void first() {
+            first = interceptor.plan(Directory.EMAIL_METHOD);
+        }
+
+        /**
+         * Computes the plan from the second thread.
+         */
+        @Actor
+        public void second() {
+            second = interceptor.plan(Directory.EMAIL_METHOD);
+        }
+
+        /**
+         * Checks both threads got the plan that stays cached.
+         *
+         * @param r the result
+         */
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            r.r1 = first == second;
+            r.r2 = first == interceptor.plan(Directory.EMAIL_METHOD);
+        }
+    }
+
+    /**
+     * A refresh no longer matching a method races with an invocation of it. The invocation either sees the old or
+     * the new state, and every invocation after the refresh returned sees the new one.
+     */
+    @JCStressTest
+    @Description("Refresh of the method matcher races with an invocation")
+    @Outcome(id = "true, false", expect = ACCEPTABLE, desc = "Invoked with the state before the refresh")
+    @Outcome(id = "false, false", expect = ACCEPTABLE, desc = "Invoked with the state after the refresh")
+    @Outcome(id = ".*, true", expect = FORBIDDEN, desc = "The refreshed state is not visible after the refresh")
+    @State
+    public static class RefreshVersusInvocation {
+
+        private static final MethodMatcher NONE = new StaticMethodMatcher() {
+
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return false;
+            }
+        };
+
+        private final BlurMethodInterceptor interceptor = new BlurMethodInterceptor(() -> null, () -> true, MethodMatcher.TRUE, true);
+        private final Directory directory;
+
+        /**
+         * Creates a proxy of the directory advised by the interceptor.
+         */
+        public RefreshVersusInvocation() {
+            ProxyFactory proxyFactory = new ProxyFactory(Directory.create());
+            proxyFactory.addInterface(Directory.class);
+            proxyFactory.addAdvice(interceptor);
+            directory = (Directory) proxyFactory.getProxy();
+        }
+
+        /**
+         * Invokes the blurred method.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void invoke(ZZ_Result r) {
+            r.r1 = Directory.BLURRED_EMAIL.equals(directory.email());
+        }
+
+        /**
+         * Refreshes the interceptor with a matcher matching no method.
+         */
+        @Actor
+        public void refresh() {
+            interceptor.refresh(NONE);
+        }
+
+        /**
+         * Invokes the method again once the refresh returned.
+         *
+         * @param r the result
+         */
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            r.r2 = Directory.BLURRED_EMAIL.equals(directory.email());
+        }
+    }
+}
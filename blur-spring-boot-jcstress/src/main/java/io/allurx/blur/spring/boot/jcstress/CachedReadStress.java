@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.jcstress;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurLazily;
+import io.allurx.blur.spring.boot.autoconfigure.MethodBlurPlan;
+import io.allurx.blur.spring.boot.autoconfigure.Pseudonymizer;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Stress tests of the values cached while blurring.
+ *
+ * @author allurx
+ */
+public final class CachedReadStress {
+
+    private static final MethodBlurPlan EMAILS_PLAN = MethodBlurPlan.of(Directory.EMAILS_METHOD);
+
+    private static final byte[] KEY = "blur-spring-boot-jcstress".getBytes(StandardCharsets.UTF_8);
+
+    private static final String PSEUDONYM = new Pseudonymizer(KEY, 12, 0).pseudonymize(Directory.EMAIL);
+
+    private static final String OTHER_VALUE = "12345678910";
+
+    private static final String OTHER_PSEUDONYM = new Pseudonymizer(KEY, 12, 0).pseudonymize(OTHER_VALUE);
+
+    private CachedReadStress() {
+    }
+
+    /**
+     * Two threads read the same element of a {@link BlurLazily} list for the first time.
+     */
+    @JCStressTest
+    @Description("Concurrent first reads of a lazily blurred element")
+    @Outcome(id = "true, true", expect = ACCEPTABLE, desc = "The element was blurred once and both threads read it")
+    @Outcome(id = "false, .*", expect = FORBIDDEN, desc = "The element was blurred twice")
+    @Outcome(id = "true, false", expect = FORBIDDEN, desc = "A raw or partially published element was read")
+    @State
+    public static class LazyElementReads {
+
+        private final List<?> emails = (List<?>) EMAILS_PLAN.blurReturnValue(Directory.create().emails());
+        private Object first;
+        private Object second;
+
+        /**
+         * Default constructor
+         */
+        public LazyElementReads() {
+        }
+
+        /**
+         * Reads the element from the first thread.
+         */
+        @Actor
+        public void first() {
+            first = emails.get(0);
+        }
+
+        /**
+         * Reads the element from the second thread.
+         */
+        @Actor
+        public void second() {
+            second = emails.get(0);
+        }
+
+        /**
+         * Checks both threads read the same blurred element.
+         *
+         * @param r the result
+         */
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            r.r1 = first == second;
+            r.r2 = Directory.BLURRED_EMAIL.equals(first);
+        }
+    }
+
+    /**
+     * Two threads pseudonymize the same value through a cache, one of them populating it.
+     */
+    @JCStressTest
+    @Description("Concurrent reads of the pseudonym cache")
+    @Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Both threads read the pseudonym")
+    @Outcome(expect = FORBIDDEN, desc = "A thread read a wrong or partially published pseudonym")
+    @State
+    public static class PseudonymReads {
+
+        private final Pseudonymizer pseudonymizer = new Pseudonymizer(KEY, 12, 16);
+
+        /**
+         * Default constructor
+         */
+        public PseudonymReads() {
+        }
+
+        /**
+         * Pseudonymizes the value from the first thread.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void first(ZZ_Result r) {
+            r.r1 = PSEUDONYM.equals(pseudonymizer.pseudonymize(Directory.EMAIL));
+        }
+
+        /**
+         * Pseudonymizes the value from the second thread.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void second(ZZ_Result r) {
+            r.r2 = PSEUDONYM.equals(pseudonymizer.pseudonymize(Directory.EMAIL));
+        }
+    }
+
+    /**
+     * Two threads hit the same cached pseudonym while a third one evicts it from its single-entry cache segment.
+     */
+    @JCStressTest
+    @Description("Contended hits of the pseudonym cache racing with an eviction")
+    @Outcome(id = "true, true, true", expect = ACCEPTABLE, desc = "Every thread read its pseudonym")
+    @Outcome(expect = FORBIDDEN, desc = "A thread read a wrong or partially published pseudonym")
+    @State
+    public static class ContendedPseudonymReads {
+
+        private final Pseudonymizer pseudonymizer = new Pseudonymizer(KEY, 12, 1);
+
+        /**
+         * Populates the cache with the pseudonym both readers hit.
+         */
+        public ContendedPseudonymReads() {
+            pseudonymizer.pseudonymize(Directory.EMAIL);
+        }
+
+        /**
+         * Hits the cached pseudonym from the first thread.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void first(ZZZ_Result r) {
+            r.r1 = PSEUDONYM.equals(pseudonymizer.pseudonymize(Directory.EMAIL));
+        }
+
+        /**
+         * Hits the cached pseudonym from the second thread.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void second(ZZZ_Result r) {
+            r.r2 = PSEUDONYM.equals(pseudonymizer.pseudonymize(Directory.EMAIL));
+        }
+
+        /**
+         * Pseudonymizes another value from the third thread, evicting the cached pseudonym.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void evict(ZZZ_Result r) {
+            r.r3 = OTHER_PSEUDONYM.equals(pseudonymizer.pseudonymize(OTHER_VALUE));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.jcstress;
+
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.spring.boot.autoconfigure.BlurLazily;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Blurred methods shared by the stress tests.
+ *
+ * @author allurx
+ */
+public interface Directory {
+
+    /**
+     * The raw email returned by every method.
+     */
+    String EMAIL = "123456@qq.com";
+
+    /**
+     * The blurred {@link #EMAIL}.
+     */
+    String BLURRED_EMAIL = "1*****@qq.com";
+
+    /**
+     * The {@link #email()} method.
+     */
+    Method EMAIL_METHOD = method("email");
+
+    /**
+     * The {@link #emails()} method.
+     */
+    Method EMAILS_METHOD = method("emails");
+
+    /**
+     * Returns an email.
+     *
+     * @return the email
+     */
+    @Email
+    String email();
+
+    /**
+     * Returns a list of emails, each blurred on first access.
+     *
+     * @return the emails
+     */
+    @BlurLazily
+    List<@Email String> emails();
+
+    /**
+     * Creates a directory returning {@link #EMAIL}.
+     *
+     * @return the directory
+     */
+    static Directory create() {
+        return new Directory() {
+
+            @Override
+            public String email() {
+                return EMAIL;
+            }
+
+            @Override
+            public List<String> emails() {
+                return List.of(EMAIL, EMAIL);
+            }
+        };
+    }
+
+    private static Method method(String name) {
+        try {
+            return Directory.class.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.jcstress;
+
+import io.allurx.blur.spring.boot.autoconfigure.IndexedTypeParser;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.Set;
+
+/**
+ * Type parser supporting a single {@link Marker} instance only, so that the parsers registered by concurrently
+ * running stress test states never dispatch each other's values.
+ *
+ * @param marker the supported marker
+ * @author allurx
+ */
+public record MarkerTypeParser(Marker marker) implements IndexedTypeParser<Object, AnnotatedType> {
+
+    /**
+     * The value returned by {@link #parse(Object, AnnotatedType)}.
+     */
+    public static final String PARSED = "parsed";
+
+    @Override
+    public Object parse(Object value, AnnotatedType annotatedType) {
+        return PARSED;
+    }
+
+    @Override
+    public boolean support(Object value, AnnotatedType annotatedType) {
+        return value == marker;
+    }
+
+    @Override
+    public Set<Class<?>> rawTypes() {
+        return Set.of(Marker.class);
+    }
+
+    /**
+     * Value dispatched to a {@link MarkerTypeParser}.
+     */
+    public static final class Marker {
+
+        /**
+         * The {@link AnnotatedType} markers are dispatched with.
+         */
+        public static final AnnotatedType ANNOTATED_TYPE = Marker.class.getAnnotatedSuperclass();
+
+        /**
+         * Default constructor
+         */
+        public Marker() {
+        }
+    }
+}
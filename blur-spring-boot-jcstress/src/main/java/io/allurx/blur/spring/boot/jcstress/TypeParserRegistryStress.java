@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.jcstress;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurApplicationRunListener;
+import io.allurx.blur.spring.boot.autoconfigure.TypeParserRegistry;
+import io.allurx.blur.spring.boot.jcstress.MarkerTypeParser.Marker;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.L_Result;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Stress tests of the copy-on-write snapshot of the {@link TypeParserRegistry}.
+ * <p>
+ * The registry is JVM-global, so every state registers its own application context and deregisters it in the arbiter.
+ * </p>
+ *
+ * @author allurx
+ */
+public final class TypeParserRegistryStress {
+
+    private static final TypeParserRegistry REGISTRY = TypeParserRegistry.getInstance();
+
+    private TypeParserRegistryStress() {
+    }
+
+    /**
+     * Registration of the parsers of a starting context races with an early request dispatching a value.
+     *
+     * @see BlurApplicationRunListener#started
+     */
+    @JCStressTest
+    @Description("Registration of type parsers races with dispatch")
+    @Outcome(id = "untouched", expect = ACCEPTABLE, desc = "Dispatched before the registration")
+    @Outcome(id = "parsed", expect = ACCEPTABLE, desc = "Dispatched after the registration")
+    @Outcome(expect = FORBIDDEN, desc = "Dispatched to a partially built snapshot")
+    @State
+    public static class RegistrationVersusDispatch {
+
+        private final GenericApplicationContext context = new GenericApplicationContext();
+        private final Marker marker = new Marker();
+
+        /**
+         * Default constructor
+         */
+        public RegistrationVersusDispatch() {
+        }
+
+        /**
+         * Registers the parser of the marker.
+         */
+        @Actor
+        public void register() {
+            REGISTRY.register(context, List.of(new MarkerTypeParser(marker)));
+        }
+
+        /**
+         * Dispatches the marker.
+         *
+         * @param r the result
+         */
+        @Actor
+        public void dispatch(L_Result r) {
+            Object parsed = REGISTRY.callWith(context, () -> REGISTRY.parse(marker, Marker.ANNOTATED_TYPE));
+            r.r1 = parsed == marker ? "untouched" : parsed;
+        }
+
+        /**
+         * Deregisters the context.
+         */
+        @Arbiter
+        public void deregister() {
+            REGISTRY.deregister(context);
+        }
+    }
+
+    /**
+     * Two contexts register their parsers at the same time, neither registration may be lost.
+     */
+    @JCStressTest
+    @Description("Concurrent registrations of type parsers")
+    @Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Both registrations are visible")
+    @Outcome(expect = FORBIDDEN, desc = "A registration is lost")
+    @State
+    public static class ConcurrentRegistration {
+
+        private final GenericApplicationContext firstContext = new GenericApplicationContext();
+        private final GenericApplicationContext secondContext = new GenericApplicationContext();
+        private final MarkerTypeParser firstParser = new MarkerTypeParser(new Marker());
+        private final MarkerTypeParser secondParser = new MarkerTypeParser(new Marker());
+
+        /**
+         * Default constructor
+         */
+        public ConcurrentRegistration() {
+        }
+
+        /**
+         * Registers the parser of the first context.
+         */
+        @Actor
+        public void registerFirst() {
+            REGISTRY.register(firstContext, List.of(firstParser));
+        }
+
+        /**
+         * Registers the parser of the second context.
+         */
+        @Actor
+        public void registerSecond() {
+            REGISTRY.register(secondContext, List.of(secondParser));
+        }
+
+        /**
+         * Checks both parsers are registered and deregisters the contexts.
+         *
+         * @param r the result
+         */
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            List<?> typeParsers = REGISTRY.typeParsers();
+            r.r1 = typeParsers.contains(firstParser);
+            r.r2 = typeParsers.contains(secondParser);
+            REGISTRY.deregister(firstContext);
+            REGISTRY.deregister(secondContext);
+        }
+    }
+}
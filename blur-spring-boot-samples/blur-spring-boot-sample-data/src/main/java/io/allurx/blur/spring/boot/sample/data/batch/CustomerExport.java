@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.batch;
+
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.annotation.PhoneNumber;
+
+import java.util.StringJoiner;
+
+/**
+ * A customer row exported by the {@link CustomerExportJobFactory customer export job}.
+ *
+ * @author allurx
+ */
+public class CustomerExport {
+
+    private Long id;
+
+    @PhoneNumber
+    private String phoneNumber;
+
+    @Email
+    private String email;
+
+    /**
+     * Default constructor
+     */
+    public CustomerExport() {
+    }
+
+    /**
+     * Constructs a CustomerExport with the specified id, phone number and email.
+     *
+     * @param id          the identifier of the exported customer
+     * @param phoneNumber the customer's phone number
+     * @param email       the customer's email address
+     */
+    public CustomerExport(Long id, String phoneNumber, String email) {
+        this.id = id;
+        this.phoneNumber = phoneNumber;
+        this.email = email;
+    }
+
+    /**
+     * Returns the identifier of the exported customer.
+     *
+     * @return the identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the phone number of the exported customer.
+     *
+     * @return the phone number
+     */
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    /**
+     * Returns the email address of the exported customer.
+     *
+     * @return the email address
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", CustomerExport.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("phoneNumber='" + phoneNumber + "'")
+                .add("email='" + email + "'")
+                .toString();
+    }
+}
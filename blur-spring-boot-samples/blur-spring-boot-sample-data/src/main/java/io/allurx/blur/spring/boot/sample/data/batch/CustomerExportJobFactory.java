@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.batch;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurItemFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates jobs exporting the customers of the H2 database with their sensitive columns blurred.
+ * <p>
+ * Each job reads the {@code customer} table with a cursor and writes it through a
+ * {@link io.allurx.blur.spring.boot.autoconfigure.BlurChunkItemWriter}, so every chunk is blurred in one pass
+ * before reaching the given writer.
+ * </p>
+ *
+ * @author allurx
+ */
+@Component
+public class CustomerExportJobFactory {
+
+    private final JobRepository jobRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final DataSource dataSource;
+
+    private final BlurItemFactory blurItemFactory;
+
+    /**
+     * Constructs a CustomerExportJobFactory.
+     *
+     * @param jobRepository      the repository storing the job executions
+     * @param transactionManager the transaction manager of the chunks
+     * @param dataSource         the data source the customers are read from
+     * @param blurItemFactory    the factory of blurring batch components
+     */
+    public CustomerExportJobFactory(JobRepository jobRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    DataSource dataSource,
+                                    BlurItemFactory blurItemFactory) {
+        this.jobRepository = jobRepository;
+        this.transactionManager = transactionManager;
+        this.dataSource = dataSource;
+        this.blurItemFactory = blurItemFactory;
+    }
+
+    /**
+     * Creates a job exporting the customers whose identifier is at least {@code minId}.
+     *
+     * @param chunkSize the number of customers blurred and written per chunk
+     * @param minId     the lowest exported customer identifier
+     * @param writer    the writer receiving the blurred customers
+     * @return the customer export job
+     */
+    public Job create(int chunkSize, long minId, ItemWriter<CustomerExport> writer) {
+        var step = new StepBuilder("customerExportStep" + chunkSize, jobRepository)
+                .<CustomerExport, CustomerExport>chunk(chunkSize, transactionManager)
+                .reader(reader(chunkSize, minId))
+                .writer(blurItemFactory.writer(writer, CustomerExport.class))
+                .build();
+        return new JobBuilder("customerExportJob" + chunkSize, jobRepository)
+                .start(step)
+                .build();
+    }
+
+    private JdbcCursorItemReader<CustomerExport> reader(int chunkSize, long minId) {
+        return new JdbcCursorItemReaderBuilder<CustomerExport>()
+                .name("customerReader")
+                .dataSource(dataSource)
+                .sql("select id, phone_number, email from customer where id >= ? order by id")
+                .queryArguments(minId)
+                .fetchSize(chunkSize)
+                .rowMapper((resultSet, rowNum) -> new CustomerExport(
+                        resultSet.getLong("id"),
+                        resultSet.getString("phone_number"),
+                        resultSet.getString("email")))
+                .build();
+    }
+}
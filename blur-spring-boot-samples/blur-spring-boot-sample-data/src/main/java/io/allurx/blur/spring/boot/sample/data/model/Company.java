@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.model;
+
+import io.allurx.blur.annotation.Name;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+
+import java.util.StringJoiner;
+
+/**
+ * Represents the company a customer belongs to.
+ *
+ * @author allurx
+ */
+@Entity
+public class Company {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Name
+    private String name;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Company() {
+    }
+
+    /**
+     * Constructs a Company with the specified name.
+     *
+     * @param name the company name
+     */
+    public Company(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the identifier of this company.
+     *
+     * @return the identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name of this company.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of this company.
+     *
+     * @param name the name to set
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", Company.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("name='" + name + "'")
+                .toString();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.model;
+
+import io.allurx.blur.annotation.Email;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import java.util.StringJoiner;
+
+/**
+ * Represents an additional contact of a customer.
+ *
+ * @author allurx
+ */
+@Entity
+public class Contact {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Email
+    private String email;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Customer customer;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Contact() {
+    }
+
+    /**
+     * Constructs a Contact with the specified email address.
+     *
+     * @param email    the contact's email address
+     * @param customer the customer owning this contact
+     */
+    public Contact(String email, Customer customer) {
+        this.email = email;
+        this.customer = customer;
+    }
+
+    /**
+     * Returns the identifier of this contact.
+     *
+     * @return the identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the email address of this contact.
+     *
+     * @return the email address
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Sets the email address of this contact.
+     *
+     * @param email the email address to set
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Returns the customer owning this contact.
+     *
+     * @return the customer
+     */
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", Contact.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("email='" + email + "'")
+                .toString();
+    }
+}
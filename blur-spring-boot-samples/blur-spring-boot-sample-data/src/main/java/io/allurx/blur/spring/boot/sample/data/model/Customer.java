@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.model;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.annotation.PhoneNumber;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Represents a customer whose associations are loaded lazily.
+ * <p>
+ * Both {@link #company} and {@link #contacts} are annotated with {@link Cascade}, so blurring a
+ * customer would normally traverse them and trigger lazy loading.
+ * </p>
+ *
+ * @author allurx
+ */
+@Entity
+public class Customer {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @PhoneNumber
+    private String phoneNumber;
+
+    @Email
+    private String email;
+
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    private @Cascade Company company;
+
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.PERSIST)
+    private List<@Cascade Contact> contacts = new ArrayList<>();
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Customer() {
+    }
+
+    /**
+     * Constructs a Customer with the specified phone number, email and company.
+     *
+     * @param phoneNumber the customer's phone number
+     * @param email       the customer's email address
+     * @param company     the company the customer belongs to
+     */
+    public Customer(String phoneNumber, String email, Company company) {
+        this.phoneNumber = phoneNumber;
+        this.email = email;
+        this.company = company;
+    }
+
+    /**
+     * Returns the identifier of this customer.
+     *
+     * @return the identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the phone number of this customer.
+     *
+     * @return the phone number
+     */
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    /**
+     * Sets the phone number of this customer.
+     *
+     * @param phoneNumber the phone number to set
+     */
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    /**
+     * Returns the email address of this customer.
+     *
+     * @return the email address
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Sets the email address of this customer.
+     *
+     * @param email the email address to set
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Returns the company of this customer.
+     *
+     * @return the company
+     */
+    public Company getCompany() {
+        return company;
+    }
+
+    /**
+     * Returns the contacts of this customer.
+     *
+     * @return the contacts
+     */
+    public List<Contact> getContacts() {
+        return contacts;
+    }
+
+    /**
+     * Adds a contact to this customer.
+     *
+     * @param email the contact's email address
+     */
+    public void addContact(String email) {
+        contacts.add(new Contact(email, this));
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", Customer.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("phoneNumber='" + phoneNumber + "'")
+                .add("email='" + email + "'")
+                .toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.report;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Repository streaming customer reports with {@link JdbcTemplate}.
+ * <p>
+ * The phone number and email columns are masked by a {@link BlurRowMapper} while the rows are read, so every
+ * {@link CustomerReport} is built once and only ever holds masked values.
+ * </p>
+ *
+ * @author allurx
+ */
+@Repository
+public class CustomerReportRepository {
+
+    private static final String SQL = "select id, phone_number, email from customer where id >= ? order by id";
+
+    /**
+     * Maps a row to a report without masking.
+     */
+    public static final RowMapper<CustomerReport> ROW_MAPPER = (resultSet, rowNum) -> new CustomerReport(
+            resultSet.getLong("id"),
+            resultSet.getString("phone_number"),
+            resultSet.getString("email"));
+
+    private final RowMapper<CustomerReport> blurRowMapper = new BlurRowMapper<>(ROW_MAPPER, CustomerReport.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a CustomerReportRepository.
+     *
+     * @param jdbcTemplate the template running the queries
+     */
+    public CustomerReportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams the masked reports of the customers whose identifier is at least {@code minId}.
+     * The returned stream holds a database connection and must be closed.
+     *
+     * @param minId the lowest reported customer identifier
+     * @return the masked customer reports
+     */
+    public Stream<CustomerReport> streamReports(long minId) {
+        return jdbcTemplate.queryForStream(SQL, blurRowMapper, minId);
+    }
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.repository;
+
+import io.allurx.blur.spring.boot.sample.data.model.Customer;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository for {@link Customer} entities.
+ *
+ * @author allurx
+ */
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+}
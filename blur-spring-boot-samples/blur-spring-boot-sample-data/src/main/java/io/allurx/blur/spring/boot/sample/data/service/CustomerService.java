@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.service;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.spring.boot.sample.data.model.Customer;
+import io.allurx.blur.spring.boot.sample.data.repository.CustomerRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service returning blurred {@link Customer} entities.
+ *
+ * @author allurx
+ */
+@Service
+public class CustomerService {
+
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Constructs a CustomerService.
+     *
+     * @param customerRepository the repository used to load customers
+     */
+    public CustomerService(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    /**
+     * Loads a customer and blurs it without initializing any of its lazy associations.
+     *
+     * @param id the identifier of the customer
+     * @return the blurred customer
+     */
+    @Transactional(readOnly = true)
+    public @Cascade Customer findCustomer(Long id) {
+        return customerRepository.findById(id).orElseThrow();
+    }
+}
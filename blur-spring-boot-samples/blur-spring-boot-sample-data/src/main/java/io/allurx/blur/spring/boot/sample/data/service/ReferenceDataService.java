@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.service;
+
+import io.allurx.blur.annotation.Email;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service returning cached and blurred reference data.
+ * The cache stores the blurred return value, so cache hits are served without blurring again.
+ *
+ * @author allurx
+ */
+@Service
+public class ReferenceDataService {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    /**
+     * Default constructor
+     */
+    public ReferenceDataService() {
+    }
+
+    /**
+     * Returns the support email addresses.
+     *
+     * @return the blurred support email addresses
+     */
+    @Cacheable("supportEmails")
+    public List<@Email String> supportEmails() {
+        invocations.incrementAndGet();
+        return new ArrayList<>(List.of("123456@qq.com", "654321@qq.com"));
+    }
+
+    /**
+     * Returns how many times {@link #supportEmails()} was actually invoked.
+     *
+     * @return the number of invocations
+     */
+    public int invocations() {
+        return invocations.get();
+    }
+}
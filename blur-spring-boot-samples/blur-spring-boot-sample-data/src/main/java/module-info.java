@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * blur spring boot sample data module
+ *
+ * @author allurx
+ */
+module io.allurx.blur.spring.boot.sample.data {
+    requires jakarta.persistence;
+    requires spring.beans;
+    requires spring.context;
+    requires spring.tx;
+    requires spring.batch.core;
+    requires spring.batch.infrastructure;
+    requires io.allurx.blur.spring.boot.autoconfigure;
+    requires java.sql;
+    requires spring.jdbc;
+    requires spring.data.commons;
+    requires spring.data.jpa;
+    requires spring.boot;
+    requires spring.boot.autoconfigure;
+    requires io.allurx.blur;
+    requires io.allurx.annotation.parser;
+    exports io.allurx.blur.spring.boot.sample.data;
+    exports io.allurx.blur.spring.boot.sample.data.batch;
+    exports io.allurx.blur.spring.boot.sample.data.model;
+    exports io.allurx.blur.spring.boot.sample.data.report;
+    exports io.allurx.blur.spring.boot.sample.data.repository;
+    exports io.allurx.blur.spring.boot.sample.data.service;
+    opens io.allurx.blur.spring.boot.sample.data;
+    opens io.allurx.blur.spring.boot.sample.data.batch;
+    opens io.allurx.blur.spring.boot.sample.data.model;
+    opens io.allurx.blur.spring.boot.sample.data.report;
+    opens io.allurx.blur.spring.boot.sample.data.repository;
+    opens io.allurx.blur.spring.boot.sample.data.service;
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.test;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurItemFactory;
+import io.allurx.blur.spring.boot.sample.data.batch.CustomerExport;
+import io.allurx.blur.spring.boot.sample.data.batch.CustomerExportJobFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.SkipWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for blurring the items of a Spring Batch job chunk by chunk.
+ * This class exports the same customers with different chunk sizes, and blurs customers item by item and chunk by chunk.
+ * Its throughput report, tagged {@code load}, only runs with the {@code load} profile, e.g. {@code mvn test -P load}.
+ *
+ * @author allurx
+ * @see CustomerExportJobFactory
+ */
+@SpringBootTest
+class BatchBlurTest {
+
+    private static final long MIN_ID = 1_000_000;
+
+    private static final int CUSTOMERS = 10_000;
+
+    private static final int BENCHMARK_CUSTOMERS = 100_000;
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private CustomerExportJobFactory customerExportJobFactory;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlurItemFactory blurItemFactory;
+
+    /**
+     * Inserts the exported customers.
+     */
+    @BeforeEach
+    void setUp() {
+        insert(CUSTOMERS);
+    }
+
+    /**
+     * Deletes the exported customers.
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from customer where id >= ?", MIN_ID);
+    }
+
+    /**
+     * Tests that every exported customer is blurred with the given chunk size.
+     *
+     * @param chunkSize the number of customers per chunk
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    void exportBlurredCustomers(int chunkSize) throws Exception {
+        var written = new AtomicInteger();
+        var job = customerExportJobFactory.create(chunkSize, MIN_ID, chunk -> {
+            for (CustomerExport customer : chunk) {
+                assertEquals("123****8910", customer.getPhoneNumber());
+                assertEquals("1*****@qq.com", customer.getEmail());
+            }
+            written.addAndGet(chunk.size());
+        });
+        run(job);
+
+        assertEquals(CUSTOMERS, written.get());
+    }
+
+    /**
+     * Reports the throughput of exporting blurred customers with the given chunk size. A first export warms the job
+     * up, then the best and the mean throughput of the following exports are printed.
+     *
+     * @param chunkSize the number of customers per chunk
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000, 10_000})
+    @Tag("load")
+    void reportThroughputPerChunkSize(int chunkSize) throws Exception {
+        insert(BENCHMARK_CUSTOMERS);
+        var job = customerExportJobFactory.create(chunkSize, MIN_ID, chunk -> {
+        });
+        run(job);
+        double best = 0;
+        double total = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            run(job);
+            double throughput = BENCHMARK_CUSTOMERS * 1e9 / (System.nanoTime() - start);
+            best = Math.max(best, throughput);
+            total += throughput;
+        }
+        System.out.printf("chunk size %5d: %d customers, best %.0f items/s, mean %.0f items/s over %d rounds%n",
+                chunkSize, BENCHMARK_CUSTOMERS, best, total / ROUNDS, ROUNDS);
+    }
+
+    /**
+     * Tests that the item processor blurs each customer.
+     */
+    @Test
+    void processBlurredCustomer() {
+        var customer = blurItemFactory.processor(CustomerExport.class)
+                .process(new CustomerExport(MIN_ID, "12345678910", "123456@qq.com"));
+        assertEquals("123****8910", customer.getPhoneNumber());
+        assertEquals("1*****@qq.com", customer.getEmail());
+    }
+
+    /**
+     * Tests that the chunk writer hands the skips, errors, end flag and user data of the chunk to its delegate,
+     * and records the errors of the delegate on the original chunk.
+     */
+    @Test
+    void keepChunkState() throws Exception {
+        var skip = new SkipWrapper<>(new CustomerExport(MIN_ID, "12345678910", "123456@qq.com"), new IllegalStateException());
+        var chunk = new Chunk<>(List.of(new CustomerExport(MIN_ID + 1, "12345678910", "123456@qq.com")), List.of(skip));
+        var error = new IllegalArgumentException();
+        var writeError = new IllegalStateException();
+        chunk.skip(error);
+        chunk.setEnd();
+        chunk.setUserData("userData");
+        var written = new AtomicReference<Chunk<? extends CustomerExport>>();
+        blurItemFactory.<CustomerExport>writer(blurred -> {
+            written.set(blurred);
+            blurred.skip(writeError);
+        }, CustomerExport.class).write(chunk);
+
+        var blurred = written.get();
+        assertEquals("123****8910", blurred.getItems().getFirst().getPhoneNumber());
+        assertEquals("1*****@qq.com", blurred.getItems().getFirst().getEmail());
+        assertEquals(List.of(skip), blurred.getSkips());
+        assertSame(error, blurred.getErrors().getFirst());
+        assertTrue(blurred.isEnd());
+        assertEquals("userData", blurred.getUserData());
+        assertEquals(List.of(error, writeError), chunk.getErrors());
+    }
+
+    private void insert(int customers) {
+        jdbcTemplate.update("delete from customer where id >= ?", MIN_ID);
+        jdbcTemplate.batchUpdate(
+                "insert into customer (id, phone_number, email) values (?, ?, ?)",
+                LongStream.range(MIN_ID, MIN_ID + customers)
+                        .mapToObj(id -> new Object[]{id, "12345678910", "123456@qq.com"})
+                        .toList());
+    }
+
+    private void run(Job job) throws Exception {
+        var execution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run.id", System.nanoTime())
+                .toJobParameters());
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.test;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurConfigurationRefresher;
+import io.allurx.blur.spring.boot.autoconfigure.TenantResolver;
+import io.allurx.blur.spring.boot.sample.data.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for blurring {@code @Cacheable} methods.
+ * This class verifies that the cache only ever holds blurred values, including when a tenant whose policy
+ * disables blurring invokes a cached method, and that a refresh of the blur configuration evicts them.
+ *
+ * @author allurx
+ * @see ReferenceDataService
+ */
+@SpringBootTest(properties = {"blur.tenants.internal.enabled=false", "blur.refresh.enabled=true"})
+class CacheBlurTest {
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private static final List<String> BLURRED_EMAILS = List.of("1*****@qq.com", "6*****@qq.com");
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BlurConfigurationRefresher refresher;
+
+    /**
+     * Empties the cache before each test.
+     */
+    @BeforeEach
+    void clearCache() {
+        supportEmailsCache().clear();
+    }
+
+    /**
+     * Tests that the blurred return value is cached and served directly on cache hits.
+     */
+    @Test
+    void cacheBlurredReturnValue() {
+        var invocations = referenceDataService.invocations();
+
+        assertEquals(BLURRED_EMAILS, referenceDataService.supportEmails());
+        assertEquals(BLURRED_EMAILS, referenceDataService.supportEmails());
+        assertEquals(invocations + 1, referenceDataService.invocations());
+
+        var cached = supportEmailsCache().get(SimpleKey.EMPTY);
+        assertEquals(BLURRED_EMAILS, Objects.requireNonNull(cached).get());
+    }
+
+    /**
+     * Tests that a value returned unblurred to a tenant whose policy disables blurring is not cached,
+     * so that callers of the default tenant still get blurred values.
+     */
+    @Test
+    void neverCacheUnblurredReturnValue() {
+        TENANT.set("internal");
+        try {
+            assertEquals(List.of("123456@qq.com", "654321@qq.com"), referenceDataService.supportEmails());
+        } finally {
+            TENANT.remove();
+        }
+        assertNull(supportEmailsCache().get(SimpleKey.EMPTY));
+        assertEquals(BLURRED_EMAILS, referenceDataService.supportEmails());
+    }
+
+    /**
+     * Tests that refreshing the blur configuration evicts the values cached by blurred methods,
+     * so that no value cached under the previous configuration is served under the new one.
+     */
+    @Test
+    void evictCacheOnRefresh() {
+        var invocations = referenceDataService.invocations();
+        assertEquals(BLURRED_EMAILS, referenceDataService.supportEmails());
+        assertNotNull(supportEmailsCache().get(SimpleKey.EMPTY));
+
+        refresher.refresh().join();
+
+        assertNull(supportEmailsCache().get(SimpleKey.EMPTY));
+        assertEquals(BLURRED_EMAILS, referenceDataService.supportEmails());
+        assertEquals(invocations + 2, referenceDataService.invocations());
+    }
+
+    private Cache supportEmailsCache() {
+        return Objects.requireNonNull(cacheManager.getCache("supportEmails"));
+    }
+
+    /**
+     * Configuration resolving the tenant of the current thread.
+     */
+    @TestConfiguration
+    static class TenantConfig {
+
+        /**
+         * Registers a {@link TenantResolver} reading the tenant set by the test on the current thread.
+         *
+         * @return the {@link TenantResolver}
+         */
+        @Bean
+        TenantResolver tenantResolver() {
+            return TENANT::get;
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.test;
+
+import io.allurx.blur.spring.boot.sample.data.model.Company;
+import io.allurx.blur.spring.boot.sample.data.model.Customer;
+import io.allurx.blur.spring.boot.sample.data.repository.CustomerRepository;
+import io.allurx.blur.spring.boot.sample.data.service.CustomerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests for blurring Hibernate entities with lazy associations.
+ * This class verifies that blurring never initializes lazy proxies or collections.
+ *
+ * @author allurx
+ * @see CustomerService
+ */
+@SpringBootTest
+class HibernateBlurTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        var customer = new Customer("12345678910", "123456@qq.com", new Company("allurx"));
+        customer.addContact("123456@qq.com");
+        customer.addContact("123456@qq.com");
+        customerId = customerRepository.save(customer).getId();
+    }
+
+    /**
+     * Tests that blurring a customer issues no SQL statement beyond loading the customer itself.
+     */
+    @Test
+    void blurEntityWithoutLazyLoading() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var customer = customerService.findCustomer(customerId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("123****8910", customer.getPhoneNumber());
+        assertEquals("1*****@qq.com", customer.getEmail());
+        assertFalse(Hibernate.isInitialized(customer.getCompany()));
+        assertFalse(Hibernate.isInitialized(customer.getContacts()));
+    }
+
+}
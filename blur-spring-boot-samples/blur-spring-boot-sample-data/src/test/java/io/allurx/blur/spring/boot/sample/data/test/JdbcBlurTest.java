@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.data.test;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurHandle;
+import io.allurx.blur.spring.boot.autoconfigure.BlurRowMapper;
+import io.allurx.blur.spring.boot.autoconfigure.ColumnBlurRules;
+import io.allurx.blur.spring.boot.sample.data.report.CustomerReport;
+import io.allurx.blur.spring.boot.sample.data.report.CustomerReportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for masking columns while a {@link JdbcTemplate} query is read.
+ * This class verifies that masked columns are blurred whichever character getter reads them, and cannot be read raw.
+ * Its benchmark, tagged {@code load}, only runs with the {@code load} profile, e.g. {@code mvn test -P load}.
+ *
+ * @author allurx
+ * @see CustomerReportRepository
+ */
+@SpringBootTest
+class JdbcBlurTest {
+
+    private static final long MIN_ID = 2_000_000;
+
+    private static final int CUSTOMERS = 1_000;
+
+    private static final int BENCHMARK_CUSTOMERS = 50_000;
+
+    private static final int ROUNDS = 5;
+
+    private static final String EMAIL_SQL = "select email from customer where id = ?";
+
+    private static final String REPORT_SQL = "select id, phone_number, email from customer where id >= ? order by id";
+
+    @Autowired
+    private CustomerReportRepository customerReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext context;
+
+    /**
+     * Inserts the reported customers.
+     */
+    @BeforeEach
+    void setUp() {
+        insert(CUSTOMERS);
+    }
+
+    /**
+     * Deletes the reported customers.
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from customer where id >= ?", MIN_ID);
+    }
+
+    /**
+     * Tests that the masked columns are blurred while the rows are read.
+     */
+    @Test
+    void maskColumnsWhileReading() {
+        try (var reports = customerReportRepository.streamReports(MIN_ID)) {
+            assertEquals(CUSTOMERS, reports.peek(report -> {
+                assertEquals("123****8910", report.getPhoneNumber());
+                assertEquals("1*****@qq.com", report.getEmail());
+            }).count());
+        }
+    }
+
+    /**
+     * Tests that a masked column read as a character stream is blurred.
+     */
+    @Test
+    void maskCharacterStream() {
+        RowMapper<String> rowMapper = new BlurRowMapper<>((resultSet, rowNum) -> read(resultSet.getCharacterStream(1)), rules());
+        assertEquals(List.of("1*****@qq.com"), jdbcTemplate.query(EMAIL_SQL, rowMapper, MIN_ID));
+    }
+
+    /**
+     * Tests that a masked column cannot be read as bytes, bypassing the masking.
+     */
+    @Test
+    void rejectBytesOfMaskedColumn() {
+        RowMapper<byte[]> rowMapper = new BlurRowMapper<>((resultSet, rowNum) -> resultSet.getBytes("email"), rules());
+        assertThrows(DataAccessException.class, () -> jdbcTemplate.query(EMAIL_SQL, rowMapper, MIN_ID));
+    }
+
+    /**
+     * Benchmarks masking in the row mapper, which resolves the masked columns once per result set, against mapping
+     * the rows first and blurring the mapped reports with {@code @Cascade} afterward.
+     */
+    @Test
+    @Tag("load")
+    void benchmarkColumnMasking() {
+        insert(BENCHMARK_CUSTOMERS);
+        BlurHandle<CustomerReport> handle = BlurHandle.cascade(CustomerReport.class, context);
+        for (int round = 1; round <= ROUNDS; round++) {
+            long masked = measure(() -> customerReportRepository.streamReports(MIN_ID));
+            long cascaded = measure(() -> jdbcTemplate.queryForStream(REPORT_SQL, CustomerReportRepository.ROW_MAPPER, MIN_ID).map(handle::blur));
+            System.out.printf("round %d: row mapper masking %d ms, @Cascade after mapping %d ms (%d rows)%n",
+                    round, masked / 1_000_000, cascaded / 1_000_000, BENCHMARK_CUSTOMERS);
+        }
+    }
+
+    private void insert(int customers) {
+        jdbcTemplate.update("delete from customer where id >= ?", MIN_ID);
+        jdbcTemplate.batchUpdate(
+                "insert into customer (id, phone_number, email) values (?, ?, ?)",
+                LongStream.range(MIN_ID, MIN_ID + customers)
+                        .mapToObj(id -> new Object[]{id, "12345678910", "123456@qq.com"})
+                        .toList());
+    }
+
+    private static long measure(Supplier<Stream<CustomerReport>> query) {
+        long start = System.nanoTime();
+        try (var reports = query.get()) {
+            assertEquals(BENCHMARK_CUSTOMERS, reports.filter(report -> "1*****@qq.com".equals(report.getEmail())).count());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private ColumnBlurRules rules() {
+        return ColumnBlurRules.builder().context(context).columns(CustomerReport.class).build();
+    }
+
+    private static String read(Reader reader) {
+        try (reader) {
+            StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            return writer.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
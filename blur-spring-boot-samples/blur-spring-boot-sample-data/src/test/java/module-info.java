@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * blur spring boot sample data test module
+ *
+ * @author allurx
+ */
+module io.allurx.blur.spring.boot.sample.data.test {
+    requires io.allurx.blur.spring.boot.sample.data;
+    requires io.allurx.blur.spring.boot.autoconfigure;
+    requires jakarta.persistence;
+    requires org.hibernate.orm.core;
+    requires org.junit.jupiter.api;
+    requires org.junit.jupiter.params;
+    requires spring.batch.core;
+    requires spring.batch.infrastructure;
+    requires spring.jdbc;
+    requires spring.beans;
+    requires spring.boot.test;
+    requires spring.context;
+    requires spring.boot;
+    requires spring.test;
+    requires spring.tx;
+    opens io.allurx.blur.spring.boot.sample.data.test;
+}
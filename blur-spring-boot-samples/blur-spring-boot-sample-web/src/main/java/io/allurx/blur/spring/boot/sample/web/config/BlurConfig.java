@@ -16,21 +16,16 @@
 
 package io.allurx.blur.spring.boot.sample.web.config;
 
-import io.allurx.annotation.parser.AnnotationParser;
-import io.allurx.annotation.parser.type.TypeParser;
-import io.allurx.blur.spring.boot.autoconfigure.ResponseEntityTypeParser;
-import io.allurx.blur.spring.boot.sample.web.model.CustomizedResponse;
-import org.springframework.aop.framework.AopInfrastructureBean;
+import io.allurx.blur.spring.boot.autoconfigure.TenantResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.lang.reflect.AnnotatedParameterizedType;
-import java.lang.reflect.AnnotatedType;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Configuration class for data masking and obfuscation settings.
- * This class defines beans related to the customization of response parsing
- * to support data blur functionality.
+ * The {@link io.allurx.blur.spring.boot.sample.web.model.CustomizedResponse} wrapper is declared in {@code blur.wrappers}
+ * of the application properties instead of by a hand-written type parser.
  *
  * @author allurx
  */
@@ -38,53 +33,26 @@ import java.lang.reflect.AnnotatedType;
 public class BlurConfig {
 
     /**
-     * Default constructor
+     * Request header carrying the tenant id.
      */
-    public BlurConfig() {
-    }
+    public static final String TENANT_ID_HEADER = "X-Tenant-Id";
 
     /**
-     * Registers the {@link CustomizedResponseTypeParser} as a bean in the Spring context.
-     *
-     * @return an instance of {@link CustomizedResponseTypeParser}
+     * Default constructor
      */
-    @Bean
-    public TypeParser<CustomizedResponse<Object>, AnnotatedParameterizedType> typeParser() {
-        return new CustomizedResponseTypeParser();
+    public BlurConfig() {
     }
 
     /**
-     * Custom type parser for handling {@link CustomizedResponse} data types.
-     * This parser processes the data within a customized response object
-     * and applies the necessary annotations for data blurring.
+     * Registers a {@link TenantResolver} reading the tenant id from the {@value #TENANT_ID_HEADER} request header,
+     * which enables the per-tenant blur policies configured under {@code blur.tenants}.
      *
-     * @see ResponseEntityTypeParser for standard response handling.
+     * @return the {@link TenantResolver}
      */
-    public static class CustomizedResponseTypeParser implements TypeParser<CustomizedResponse<Object>, AnnotatedParameterizedType>, AopInfrastructureBean {
-
-        private final int order = AnnotationParser.randomOrder();
-
-        /**
-         * Default constructor
-         */
-        public CustomizedResponseTypeParser() {
-        }
-
-        @Override
-        public CustomizedResponse<Object> parse(CustomizedResponse<Object> response, AnnotatedParameterizedType annotatedParameterizedType) {
-            AnnotatedType typeArgument = annotatedParameterizedType.getAnnotatedActualTypeArguments()[0];
-            Object parsed = AnnotationParser.parse(response.getData(), typeArgument);
-            return new CustomizedResponse<>(parsed, response.getMessage(), response.getCode());
-        }
-
-        @Override
-        public boolean support(Object value, AnnotatedType annotatedType) {
-            return value instanceof CustomizedResponse && annotatedType instanceof AnnotatedParameterizedType;
-        }
-
-        @Override
-        public int order() {
-            return order;
-        }
+    @Bean
+    public TenantResolver tenantResolver() {
+        return () -> RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ?
+                attributes.getRequest().getHeader(TENANT_ID_HEADER) :
+                null;
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.controller;
+
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * GraphQL controller demonstrating field-level blurring.
+ * The returned person is not blurred as a whole, each field selected by the query is blurred when it is resolved.
+ *
+ * @author allurx
+ */
+@Controller
+public class GraphQlBlurController {
+
+    private final Person person = new Person("12345678910", "123456@qq.com");
+
+    /**
+     * Default constructor
+     */
+    public GraphQlBlurController() {
+    }
+
+    /**
+     * Returns the person whose selected fields are blurred at resolution time.
+     *
+     * @return the unblurred person
+     */
+    @QueryMapping
+    public Person person() {
+        return person;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.controller;
+
+import io.allurx.blur.spring.boot.autoconfigure.Pseudonymize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller demonstrating keyed pseudonymization with {@link Pseudonymize}.
+ * The same value always maps to the same pseudonym, so pseudonymized values remain joinable.
+ *
+ * @author allurx
+ */
+@RestController
+@RequestMapping("/pseudonymize")
+public class PseudonymizeController {
+
+    /**
+     * Default constructor
+     */
+    public PseudonymizeController() {
+    }
+
+    /**
+     * Pseudonymizes a string return value.
+     *
+     * @param email the email address to pseudonymize
+     * @return the pseudonym of the email
+     */
+    @GetMapping("/stringReturnValue")
+    public @Pseudonymize String pseudonymizeStringReturnValue(@RequestParam String email) {
+        return email;
+    }
+
+    /**
+     * Pseudonymizes the elements of a collection return value.
+     *
+     * @param emails the email addresses to pseudonymize
+     * @return the pseudonyms of the emails
+     */
+    @PostMapping("/collectionReturnValue")
+    public List<@Pseudonymize String> pseudonymizeCollectionReturnValue(@RequestBody List<String> emails) {
+        return emails;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.controller;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.spring.boot.sample.web.model.Customer;
+import io.allurx.blur.spring.boot.sample.web.model.Order;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller demonstrating the blurring of immutable records, which are rebuilt through their canonical constructor.
+ *
+ * @author allurx
+ */
+@RestController
+@RequestMapping("/recordBlur")
+public class RecordBlurController {
+
+    /**
+     * Default constructor
+     */
+    public RecordBlurController() {
+    }
+
+    /**
+     * Blurs a record return value.
+     *
+     * @param customer the customer to blur
+     * @return the blurred customer
+     */
+    @PostMapping("/customer")
+    public @Cascade Customer blurCustomer(@RequestBody Customer customer) {
+        return customer;
+    }
+
+    /**
+     * Blurs a record nesting records, a list of records and a mutable object.
+     *
+     * @param order the order to blur
+     * @return the blurred order
+     */
+    @PostMapping("/order")
+    public @Cascade Order blurOrder(@RequestBody Order order) {
+        return order;
+    }
+
+    /**
+     * Blurs the records of a list return value.
+     *
+     * @param customers the customers to blur
+     * @return the blurred customers
+     */
+    @PostMapping("/customers")
+    public List<@Cascade Customer> blurCustomers(@RequestBody List<Customer> customers) {
+        return customers;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.controller;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.spring.boot.sample.web.model.Customer;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Controller demonstrating the blurring of request bodies, which the handler methods receive already blurred.
+ * With {@code blur.request-body-mode} set to {@code advice}, the bodies are blurred as they are read instead of
+ * on method invocation.
+ *
+ * @author allurx
+ */
+@RestController
+@RequestMapping("/requestBodyBlur")
+public class RequestBodyBlurController {
+
+    /**
+     * Default constructor
+     */
+    public RequestBodyBlurController() {
+    }
+
+    /**
+     * Receives a blurred object request body.
+     *
+     * @param person the blurred person
+     * @return the received person
+     */
+    @PostMapping("/person")
+    public Person receivePerson(@RequestBody @Cascade Person person) {
+        return person;
+    }
+
+    /**
+     * Receives a blurred optional object request body.
+     *
+     * @param person the blurred person, if any
+     * @return the received person, or {@code null} if none was sent
+     */
+    @PostMapping("/optionalPerson")
+    public Person receiveOptionalPerson(@RequestBody Optional<@Cascade Person> person) {
+        return person.orElse(null);
+    }
+
+    /**
+     * Receives a blurred record request body.
+     *
+     * @param customer the blurred customer
+     * @return the received customer
+     */
+    @PostMapping("/customer")
+    public Customer receiveCustomer(@RequestBody @Cascade Customer customer) {
+        return customer;
+    }
+
+    /**
+     * Receives a blurred collection request body.
+     *
+     * @param emails the blurred emails
+     * @return the received emails
+     */
+    @PostMapping("/emails")
+    public List<String> receiveEmails(@RequestBody List<@Email String> emails) {
+        return emails;
+    }
+}
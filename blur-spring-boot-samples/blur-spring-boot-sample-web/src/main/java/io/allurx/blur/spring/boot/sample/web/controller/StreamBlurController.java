@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.controller;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.spring.boot.autoconfigure.BlurringResponseBodyEmitter;
+import io.allurx.blur.spring.boot.autoconfigure.BlurringSseEmitter;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import io.allurx.kit.base.reflection.AnnotatedTypeToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Controller demonstrating the blurring of objects streamed after the handler method has returned.
+ *
+ * @author allurx
+ */
+@RestController
+@RequestMapping("/streamBlur")
+public class StreamBlurController {
+
+    /**
+     * Default constructor
+     */
+    public StreamBlurController() {
+    }
+
+    /**
+     * Streams persons as server-sent events, blurred according to the element type declared on the return type.
+     * Sending starts before the method returns, so the first events are held back until the emitter is bound.
+     *
+     * @param count the number of streamed persons
+     * @return the emitter streaming the blurred persons
+     */
+    @GetMapping("/sse")
+    public BlurringSseEmitter<@Cascade Person> sse(@RequestParam int count) {
+        var emitter = new BlurringSseEmitter<Person>();
+        Thread.startVirtualThread(() -> stream(emitter, count, () -> new Person("12345678910", "123456@qq.com")));
+        return emitter;
+    }
+
+    /**
+     * Streams persons as named server-sent events built with {@link SseEmitter#event()}, whose data is blurred
+     * according to the element type declared on the return type.
+     *
+     * @param count the number of streamed persons
+     * @return the emitter streaming the blurred persons
+     */
+    @GetMapping("/events")
+    public BlurringSseEmitter<@Cascade Person> events(@RequestParam int count) {
+        var emitter = new BlurringSseEmitter<Person>();
+        Thread.startVirtualThread(() -> {
+            try {
+                for (int i = 0; i < count; i++) {
+                    emitter.send(SseEmitter.event().id(String.valueOf(i)).name("person").data(new Person("12345678910", "123456@qq.com")));
+                }
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Streams persons as server-sent events, explicitly declared as needing no blurring by an annotated type token
+     * declaring nothing to blur, so they are sent as is.
+     *
+     * @param count the number of streamed persons
+     * @return the emitter streaming the persons
+     */
+    @GetMapping("/unblurred")
+    public BlurringSseEmitter<Person> unblurred(@RequestParam int count) {
+        var emitter = new BlurringSseEmitter<>(new AnnotatedTypeToken<Person>() {
+        });
+        Thread.startVirtualThread(() -> stream(emitter, count, () -> new Person("12345678910", "123456@qq.com")));
+        return emitter;
+    }
+
+    /**
+     * Streams persons as server-sent events through an emitter that is never bound, since its element type declares
+     * nothing to blur, so its objects are dropped rather than sent unblurred.
+     *
+     * @param count the number of streamed persons
+     * @return the emitter dropping the persons
+     */
+    @GetMapping("/unbound")
+    public BlurringSseEmitter<Person> unbound(@RequestParam int count) {
+        var emitter = new BlurringSseEmitter<Person>();
+        Thread.startVirtualThread(() -> stream(emitter, count, () -> new Person("12345678910", "123456@qq.com")));
+        return emitter;
+    }
+
+    /**
+     * Streams emails line by line, blurred according to the annotated type token given to the emitter.
+     *
+     * @param count the number of streamed emails
+     * @return the emitter streaming the blurred emails
+     */
+    @GetMapping("/emitter")
+    public ResponseBodyEmitter emitter(@RequestParam int count) {
+        var emitter = new BlurringResponseBodyEmitter<>(new AnnotatedTypeToken<@Email String>() {
+        });
+        Thread.startVirtualThread(() -> stream(emitter, count, () -> "123456@qq.com\n"));
+        return emitter;
+    }
+
+    private static void stream(ResponseBodyEmitter emitter, int count, Supplier<Object> element) {
+        try {
+            for (int i = 0; i < count; i++) {
+                emitter.send(element.get());
+            }
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.directory;
+
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.annotation.PhoneNumber;
+
+/**
+ * Contact returned by internal directory lookups.
+ *
+ * @author allurx
+ */
+public interface Contact {
+
+    /**
+     * Retrieves the phone number of this contact.
+     *
+     * @return the phone number
+     */
+    @PhoneNumber
+    String getPhoneNumber();
+
+    /**
+     * Retrieves the email of this contact.
+     *
+     * @return the email
+     */
+    @Email
+    String getEmail();
+
+    /**
+     * Retrieves a one-line summary of this contact, built from its accessors.
+     *
+     * @return the summary
+     */
+    default String summary() {
+        return getEmail() + " / " + getPhoneNumber();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.directory;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.spring.boot.autoconfigure.BlurLazily;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Service demonstrating lazy blurring of return values consumed by other services.
+ * Every read of a contact field is counted, which shows that fields the caller never reads are never blurred.
+ *
+ * @author allurx
+ */
+@Service
+public class DirectoryService {
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    /**
+     * Default constructor
+     */
+    public DirectoryService() {
+    }
+
+    /**
+     * Looks up contacts, each of them blurred on first access.
+     *
+     * @param size the number of contacts
+     * @return a lazy view of the contacts
+     */
+    @BlurLazily
+    public List<@Cascade Contact> contacts(int size) {
+        return IntStream.range(0, size)
+                .<Contact>mapToObj(i -> new CountingContact("12345678910", "123456@qq.com", reads))
+                .toList();
+    }
+
+    /**
+     * Looks up emails by name, each of them blurred on first access.
+     *
+     * @param names the names to look up
+     * @return a lazy view of the emails by name
+     */
+    @BlurLazily
+    public Map<String, @Email String> emails(List<String> names) {
+        Map<String, String> emails = new LinkedHashMap<>();
+        names.forEach(name -> emails.put(name, name + "@qq.com"));
+        return emails;
+    }
+
+    /**
+     * Retrieves the number of contact fields read so far.
+     *
+     * @return the number of reads
+     */
+    public int reads() {
+        return reads.get();
+    }
+
+    /**
+     * Resets the number of contact fields read so far.
+     */
+    public void resetReads() {
+        reads.set(0);
+    }
+
+    private record CountingContact(String phoneNumber, String email, AtomicInteger reads) implements Contact {
+
+        @Override
+        public String getPhoneNumber() {
+            reads.incrementAndGet();
+            return phoneNumber;
+        }
+
+        @Override
+        public String getEmail() {
+            reads.incrementAndGet();
+            return email;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.messaging;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service demonstrating the blurring of Spring Messaging {@link Message} payloads before they leave the application.
+ * Only the payloads are blurred, the headers of the returned messages are the original ones.
+ *
+ * @author allurx
+ */
+@Service
+public class MessageBlurService {
+
+    /**
+     * Default constructor
+     */
+    public MessageBlurService() {
+    }
+
+    /**
+     * Publishes a message whose String payload is blurred.
+     *
+     * @param message the message to publish
+     * @return the message with its payload blurred
+     */
+    public Message<@Email String> publishEmail(Message<String> message) {
+        return message;
+    }
+
+    /**
+     * Publishes a message whose object payload is blurred.
+     *
+     * @param message the message to publish
+     * @return the message with its payload blurred
+     */
+    public Message<@Cascade Person> publishPerson(Message<Person> message) {
+        return message;
+    }
+
+    /**
+     * Publishes a batch of messages whose String payloads are blurred in one pass.
+     *
+     * @param messages the messages to publish
+     * @return the messages with their payloads blurred
+     */
+    public List<Message<@Email String>> publishEmails(List<Message<String>> messages) {
+        return messages;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.model;
+
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.annotation.PhoneNumber;
+
+/**
+ * Immutable customer whose phone number and email are blurred.
+ *
+ * @param id          the customer id, never blurred
+ * @param phoneNumber the customer's phone number
+ * @param email       the customer's email address
+ * @author allurx
+ */
+public record Customer(long id, @PhoneNumber String phoneNumber, @Email String email) {
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.model;
+
+import io.allurx.annotation.parser.type.Cascade;
+
+import java.util.List;
+
+/**
+ * Immutable order referencing records and a mutable object, all of them blurred through {@code @Cascade}.
+ *
+ * @param id         the order id, never blurred
+ * @param customer   the customer who placed the order
+ * @param recipients the recipients of the order
+ * @param payer      the person paying for the order
+ * @author allurx
+ */
+public record Order(String id, @Cascade Customer customer, List<@Cascade Customer> recipients, @Cascade Person payer) {
+}
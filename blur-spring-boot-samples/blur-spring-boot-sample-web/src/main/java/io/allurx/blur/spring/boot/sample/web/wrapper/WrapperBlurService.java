@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.wrapper;
+
+import io.allurx.annotation.parser.type.Cascade;
+import io.allurx.blur.annotation.Email;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service demonstrating the blurring of the wrapper types registered in the
+ * {@link io.allurx.blur.spring.boot.autoconfigure.WrapperTypeRegistry} by default.
+ *
+ * @author allurx
+ */
+@Service
+public class WrapperBlurService {
+
+    /**
+     * Default constructor
+     */
+    public WrapperBlurService() {
+    }
+
+    /**
+     * Blurs the value of an {@link Optional}.
+     *
+     * @param email the email to blur
+     * @return the optional with its value blurred
+     */
+    public Optional<@Email String> blurOptional(Optional<String> email) {
+        return email;
+    }
+
+    /**
+     * Blurs the body of an {@link HttpEntity}.
+     *
+     * @param entity the entity to blur
+     * @return the entity with its body blurred
+     */
+    public HttpEntity<@Email String> blurHttpEntity(HttpEntity<String> entity) {
+        return entity;
+    }
+
+    /**
+     * Blurs the body of a {@link RequestEntity}.
+     *
+     * @param entity the entity to blur
+     * @return the entity with its body blurred
+     */
+    public RequestEntity<@Email String> blurRequestEntity(RequestEntity<String> entity) {
+        return entity;
+    }
+
+    /**
+     * Blurs the body of a {@link ResponseEntity} in place.
+     *
+     * @param entity the entity to blur
+     * @return the same entity, whose body is blurred in place
+     */
+    public ResponseEntity<@Cascade Person> blurResponseEntity(ResponseEntity<Person> entity) {
+        return entity;
+    }
+
+    /**
+     * Blurs the content of an {@link EntityModel}.
+     *
+     * @param model the model to blur
+     * @return the model with its content blurred and its links kept
+     */
+    public EntityModel<@Email String> blurEntityModel(EntityModel<String> model) {
+        return model;
+    }
+}
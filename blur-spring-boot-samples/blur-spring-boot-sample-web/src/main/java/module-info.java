@@ -22,18 +22,30 @@ module io.allurx.blur.spring.boot.sample.web {
     requires spring.aop;
     requires spring.beans;
     requires spring.web;
+    requires spring.webmvc;
+    requires org.apache.tomcat.embed.core;
+    requires spring.messaging;
+    requires spring.graphql;
+    requires spring.hateoas;
     requires spring.context;
     requires spring.boot;
     requires spring.boot.autoconfigure;
     requires io.allurx.blur;
     requires io.allurx.annotation.parser;
+    requires io.allurx.kit.base;
     requires io.allurx.blur.spring.boot.autoconfigure;
     exports io.allurx.blur.spring.boot.sample.web;
     exports io.allurx.blur.spring.boot.sample.web.config;
     exports io.allurx.blur.spring.boot.sample.web.controller;
+    exports io.allurx.blur.spring.boot.sample.web.directory;
+    exports io.allurx.blur.spring.boot.sample.web.messaging;
     exports io.allurx.blur.spring.boot.sample.web.model;
+    exports io.allurx.blur.spring.boot.sample.web.wrapper;
     opens io.allurx.blur.spring.boot.sample.web;
     opens io.allurx.blur.spring.boot.sample.web.config;
     opens io.allurx.blur.spring.boot.sample.web.controller;
+    opens io.allurx.blur.spring.boot.sample.web.directory;
+    opens io.allurx.blur.spring.boot.sample.web.messaging;
     opens io.allurx.blur.spring.boot.sample.web.model;
+    opens io.allurx.blur.spring.boot.sample.web.wrapper;
 }
\ No newline at end of file
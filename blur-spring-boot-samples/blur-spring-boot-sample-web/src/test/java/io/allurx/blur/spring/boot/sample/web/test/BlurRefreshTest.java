@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurConfigurationRefresher;
+import io.allurx.blur.spring.boot.autoconfigure.BlurMethodInterceptor;
+import io.allurx.blur.spring.boot.sample.web.messaging.MessageBlurService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the BlurConfigurationRefresher.
+ * This class verifies that the pointcut expression is refreshed at runtime without blocking in-flight invocations.
+ * It runs isolated from the concurrently executed test classes, since it rewrites the blur configuration at runtime.
+ *
+ * @author allurx
+ * @see BlurConfigurationRefresher
+ */
+@Isolated
+@SpringBootTest(properties = "blur.refresh.enabled=true")
+class BlurRefreshTest {
+
+    private static final String PROPERTY_SOURCE = "blurRefreshTest";
+
+    @Autowired
+    private BlurConfigurationRefresher refresher;
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @Autowired
+    private MessageBlurService messageBlurService;
+
+    @Autowired
+    @Qualifier("blurAdvisor")
+    private Advisor blurAdvisor;
+
+    /**
+     * Restores the startup configuration after each test.
+     */
+    @AfterEach
+    void restore() {
+        environment.getPropertySources().remove(PROPERTY_SOURCE);
+        refresher.refresh().join();
+    }
+
+    /**
+     * Tests that a refreshed pointcut expression no longer matching a method stops blurring it, and that
+     * the startup configuration is restored by another refresh.
+     */
+    @Test
+    void refreshPointcutExpression() {
+        assertEquals("1*****@qq.com", publishEmail());
+        var expression = "execution(* io.allurx.blur.spring.boot.sample.web.controller..*.*(..))";
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE, Map.of("blur.pointcut-expression", expression)));
+        assertEquals(expression, refresher.refresh().join());
+        assertEquals("123456@qq.com", publishEmail());
+        environment.getPropertySources().remove(PROPERTY_SOURCE);
+        refresher.refresh().join();
+        assertEquals("1*****@qq.com", publishEmail());
+    }
+
+    /**
+     * Tests that an invalid pointcut expression is rejected and leaves the current configuration in place.
+     */
+    @Test
+    void rejectInvalidConfiguration() {
+        var current = refresher.getPointcutExpression();
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE, Map.of("blur.pointcut-expression", "execution(")));
+        assertThrows(CompletionException.class, () -> refresher.refresh().join());
+        assertEquals(current, refresher.getPointcutExpression());
+        assertEquals("1*****@qq.com", publishEmail());
+    }
+
+    /**
+     * Tests that a refresh keeps the blur plans already computed.
+     */
+    @Test
+    void keepBlurPlans() throws NoSuchMethodException {
+        var interceptor = assertInstanceOf(BlurMethodInterceptor.class, blurAdvisor.getAdvice());
+        var method = MessageBlurService.class.getMethod("publishEmail", Message.class);
+        var plan = interceptor.plan(method);
+        refresher.refresh().join();
+        assertSame(plan, interceptor.plan(method));
+    }
+
+    /**
+     * Tests that invocations running during refreshes always see either the old or the new configuration.
+     */
+    @Test
+    void refreshUnderLoad() throws Exception {
+        var expression = "execution(* io.allurx.blur.spring.boot.sample.web.controller..*.*(..))";
+        var running = new AtomicBoolean(true);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var invocations = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> {
+                        while (running.get()) {
+                            var payload = publishEmail();
+                            assertTrue(payload.equals("1*****@qq.com") || payload.equals("123456@qq.com"), payload);
+                        }
+                        return null;
+                    }))
+                    .toList();
+            for (int i = 0; i < 20; i++) {
+                if (i % 2 == 0) {
+                    environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE, Map.of("blur.pointcut-expression", expression)));
+                } else {
+                    environment.getPropertySources().remove(PROPERTY_SOURCE);
+                }
+                refresher.refresh().join();
+            }
+            running.set(false);
+            for (var invocation : invocations) {
+                invocation.get();
+            }
+        }
+    }
+
+    private String publishEmail() {
+        return messageBlurService.publishEmail(MessageBuilder.withPayload("123456@qq.com").build()).getPayload();
+    }
+
+}
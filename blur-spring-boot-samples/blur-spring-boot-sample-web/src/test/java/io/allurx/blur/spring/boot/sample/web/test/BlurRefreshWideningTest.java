@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.autoconfigure.BlurConfigurationRefresher;
+import io.allurx.blur.spring.boot.sample.web.messaging.MessageBlurService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the BlurConfigurationRefresher started with a pointcut expression narrower than the auto-configuration packages.
+ * This class verifies that a refreshed pointcut expression widened within those packages blurs the methods of beans
+ * the startup expression did not match.
+ * It runs isolated from the concurrently executed test classes, since it rewrites the blur configuration at runtime.
+ *
+ * @author allurx
+ * @see BlurConfigurationRefresher
+ */
+@Isolated
+@SpringBootTest(properties = {
+        "blur.refresh.enabled=true",
+        "blur.pointcut-expression=execution(* io.allurx.blur.spring.boot.sample.web.controller..*.*(..))"
+})
+class BlurRefreshWideningTest {
+
+    private static final String PROPERTY_SOURCE = "blurRefreshWideningTest";
+
+    @Autowired
+    private BlurConfigurationRefresher refresher;
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @Autowired
+    private MessageBlurService messageBlurService;
+
+    /**
+     * Restores the startup configuration after each test.
+     */
+    @AfterEach
+    void restore() {
+        environment.getPropertySources().remove(PROPERTY_SOURCE);
+        refresher.refresh().join();
+    }
+
+    /**
+     * Tests that widening the pointcut expression to a package the startup expression did not match blurs its methods.
+     */
+    @Test
+    void widenPointcutExpression() {
+        assertEquals("123456@qq.com", publishEmail());
+        var expression = "execution(* io.allurx.blur.spring.boot.sample.web..*.*(..))";
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE, Map.of("blur.pointcut-expression", expression)));
+        assertEquals(expression, refresher.refresh().join());
+        assertEquals("1*****@qq.com", publishEmail());
+    }
+
+    private String publishEmail() {
+        return messageBlurService.publishEmail(MessageBuilder.withPayload("123456@qq.com").build()).getPayload();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.controller.GraphQlBlurController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the GraphQlBlurController.
+ * This class verifies that only the fields selected by a query are blurred, at resolution time.
+ *
+ * @author allurx
+ * @see GraphQlBlurController
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GraphQlBlurTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private GraphQlBlurController graphQlBlurController;
+
+    /**
+     * Tests that a selected field is blurred while the source object stays untouched.
+     */
+    @Test
+    void blurSelectedField() throws URISyntaxException {
+        var person = query("{ person { email } }");
+        assertEquals(Map.of("email", "1*****@qq.com"), person);
+        assertEquals("12345678910", graphQlBlurController.person().getPhoneNumber());
+        assertEquals("123456@qq.com", graphQlBlurController.person().getEmail());
+    }
+
+    /**
+     * Tests that every selected field is blurred.
+     */
+    @Test
+    void blurAllSelectedFields() throws URISyntaxException {
+        var person = query("{ person { phoneNumber email } }");
+        assertEquals("123****8910", person.get("phoneNumber"));
+        assertEquals("1*****@qq.com", person.get("email"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> query(String query) throws URISyntaxException {
+        var body = restTemplate.exchange(
+                RequestEntity.post(new URI("/graphql")).body(Map.of("query", query)),
+                new ParameterizedTypeReference<Map<String, Map<String, Object>>>() {
+                }
+        ).getBody();
+        assertNotNull(body);
+        return (Map<String, Object>) body.get("data").get("person");
+    }
+
+}
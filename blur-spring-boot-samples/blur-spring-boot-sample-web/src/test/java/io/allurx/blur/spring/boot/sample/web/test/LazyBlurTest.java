@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.directory.Contact;
+import io.allurx.blur.spring.boot.sample.web.directory.DirectoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the DirectoryService.
+ * This class verifies that lazily blurred return values are blurred on first access only and are read-only.
+ *
+ * @author allurx
+ * @see DirectoryService
+ */
+@SpringBootTest
+class LazyBlurTest {
+
+    @Autowired
+    private DirectoryService directoryService;
+
+    /**
+     * Resets the read counter before each test.
+     */
+    @BeforeEach
+    void resetReads() {
+        directoryService.resetReads();
+    }
+
+    /**
+     * Tests that only the accessed fields of a large list are blurred.
+     */
+    @Test
+    void blurListOnFirstAccess() {
+        var contacts = directoryService.contacts(100_000);
+        assertEquals(100_000, contacts.size());
+        assertEquals(0, directoryService.reads());
+        Contact contact = contacts.get(42);
+        assertEquals(0, directoryService.reads());
+        assertEquals("1*****@qq.com", contact.getEmail());
+        assertEquals("1*****@qq.com", contact.getEmail());
+        assertEquals(1, directoryService.reads());
+        assertSame(contact, contacts.get(42));
+        assertEquals("123****8910", contacts.get(7).getPhoneNumber());
+        assertEquals(2, directoryService.reads());
+    }
+
+    /**
+     * Tests that concurrent first accesses blur each field once.
+     */
+    @Test
+    void blurOnceUnderContention() throws Exception {
+        var contacts = directoryService.contacts(16);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = IntStream.range(0, 1_000)
+                    .mapToObj(i -> executor.submit(() -> contacts.get(i % contacts.size()).getEmail()))
+                    .toList();
+            for (var future : futures) {
+                assertEquals("1*****@qq.com", future.get());
+            }
+        }
+        assertEquals(contacts.size(), directoryService.reads());
+    }
+
+    /**
+     * Tests the blurring of map values on first access.
+     */
+    @Test
+    void blurMapOnFirstAccess() {
+        var emails = directoryService.emails(List.of("allurx", "123456"));
+        assertEquals(2, emails.size());
+        assertEquals("1*****@qq.com", emails.get("123456"));
+        assertEquals(List.of("allurx", "123456"), List.copyOf(emails.keySet()));
+        emails.values().forEach(email -> assertEquals('*', email.charAt(1)));
+    }
+
+    /**
+     * Tests that default methods read the blurred accessors of a lazy view.
+     */
+    @Test
+    void blurDefaultMethods() {
+        var contact = directoryService.contacts(1).getFirst();
+        assertEquals("1*****@qq.com / 123****8910", contact.summary());
+    }
+
+    /**
+     * Tests that the methods of {@code Object} do not reveal the values of a lazy view.
+     */
+    @Test
+    void hideValuesFromObjectMethods() {
+        var contacts = directoryService.contacts(2);
+        Contact contact = contacts.getFirst();
+        assertEquals("Contact[getEmail=1*****@qq.com, getPhoneNumber=123****8910]", contact.toString());
+        assertFalse(contact.toString().contains("123456@qq.com"));
+        assertEquals(contact, contact);
+        assertNotEquals(contact, contacts.get(1));
+        assertEquals(System.identityHashCode(contact), contact.hashCode());
+    }
+
+    /**
+     * Tests that lazy views are read-only.
+     */
+    @Test
+    void lazyViewsAreReadOnly() {
+        var contacts = directoryService.contacts(1);
+        assertThrows(UnsupportedOperationException.class, () -> contacts.set(0, contacts.getFirst()));
+        var emails = directoryService.emails(List.of("allurx"));
+        assertThrows(UnsupportedOperationException.class, () -> emails.put("allurx", "allurx@qq.com"));
+    }
+
+}
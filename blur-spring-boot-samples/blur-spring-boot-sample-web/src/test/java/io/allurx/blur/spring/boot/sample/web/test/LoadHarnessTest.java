@@ -0,0 +1,291 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.allurx.blur.spring.boot.sample.web.BlurSpringBootSampleWebApplication;
+import io.allurx.blur.spring.boot.sample.web.controller.CustomizedResponseBlurController;
+import io.allurx.blur.spring.boot.sample.web.controller.ResponseEntityBlurController;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load harness for the sample web application.
+ * <p>
+ * This class boots the application twice on a random port, once with blurring enabled and once with a pointcut
+ * expression that matches nothing, and drives the {@link ResponseEntityBlurController} and
+ * {@link CustomizedResponseBlurController} endpoints from a closed loop of virtual-thread HTTP clients.
+ * The throughput and the p50/p99/p999 latency of every scenario are printed and written as JSON, so that the
+ * overhead of blurring can be compared run over run.
+ * </p>
+ * <p>
+ * The harness is tagged {@code load} and only runs with the {@code load} profile, e.g.
+ * {@code mvn test -P load -Dblur.load.concurrency=128 -Dblur.load.payload-size=64}. The following system
+ * properties are recognized:
+ * </p>
+ * <ul>
+ *     <li>{@code blur.load.concurrency}: the number of concurrent clients, defaults to 64</li>
+ *     <li>{@code blur.load.payload-size}: the number of elements of every request body, defaults to 16</li>
+ *     <li>{@code blur.load.warm-up}: the warm-up duration of every scenario in seconds, defaults to 5</li>
+ *     <li>{@code blur.load.duration}: the measured duration of every scenario in seconds, defaults to 15</li>
+ *     <li>{@code blur.load.output}: the JSON report file, defaults to {@code target/blur-load-report.json}</li>
+ * </ul>
+ *
+ * @author allurx
+ */
+@Tag("load")
+class LoadHarnessTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("blur.load.concurrency", 64);
+
+    private static final int PAYLOAD_SIZE = Integer.getInteger("blur.load.payload-size", 16);
+
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("blur.load.warm-up", 5));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("blur.load.duration", 15));
+
+    private static final Path OUTPUT = Path.of(System.getProperty("blur.load.output", "target/blur-load-report.json"));
+
+    /**
+     * A pointcut expression that matches no bean of the sample application, so that no blur proxy is created.
+     */
+    private static final String NO_BLUR_POINTCUT_EXPRESSION = "within(java.lang.Void)";
+
+    private static final String EMAIL = "123456@qq.com";
+
+    private static final String BLURRED_EMAIL = "1*****@qq.com";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Scenario> scenarios = List.of(
+            new Scenario("responseEntity/collectionReturnValue", "/responseEntityBlur/collectionReturnValue", this::emails),
+            new Scenario("responseEntity/mapReturnValue", "/responseEntityBlur/mapReturnValue", this::persons),
+            new Scenario("customizedResponse/collectionReturnValue", "/customizedResponseBlur/collectionReturnValue", this::emails),
+            new Scenario("customizedResponse/mapReturnValue", "/customizedResponseBlur/mapReturnValue", this::persons)
+    );
+
+    /**
+     * Measures every scenario with blurring on and off and writes the report.
+     */
+    @Test
+    void measureBlurOverhead() throws Exception {
+        var results = new ArrayList<Result>();
+        results.addAll(measure(true));
+        results.addAll(measure(false));
+        var report = new Report(CONCURRENCY, PAYLOAD_SIZE, WARM_UP.toSeconds(), DURATION.toSeconds(),
+                Runtime.version().toString(), Runtime.getRuntime().availableProcessors(), results);
+        Files.createDirectories(OUTPUT.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT.toFile(), report);
+        System.out.printf("load report written to %s%n", OUTPUT.toAbsolutePath());
+        results.forEach(result -> {
+            assertEquals(0, result.errors(), result.scenario());
+            assertTrue(result.requests() > 0, result.scenario());
+        });
+    }
+
+    /**
+     * Boots the application and measures every scenario against it.
+     *
+     * @param blur whether blurring is enabled
+     * @return the result of every scenario
+     */
+    private List<Result> measure(boolean blur) throws Exception {
+        var builder = new SpringApplicationBuilder(BlurSpringBootSampleWebApplication.class).properties("server.port=0");
+        if (!blur) {
+            builder.properties("blur.pointcut-expression=" + NO_BLUR_POINTCUT_EXPRESSION);
+        }
+        try (var context = builder.run();
+             var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build()) {
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var results = new ArrayList<Result>();
+            for (var scenario : scenarios) {
+                var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + scenario.path()))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(scenario.payload().apply(PAYLOAD_SIZE))))
+                        .build();
+                run(client, request, blur, WARM_UP);
+                var result = run(client, request, blur, DURATION).summarize(scenario.name(), blur);
+                System.out.printf("blur=%-5s %-42s %10.1f req/s  p50=%6dus  p99=%6dus  p999=%6dus  errors=%d%n",
+                        blur, scenario.name(), result.throughput(), result.p50Micros(), result.p99Micros(), result.p999Micros(), result.errors());
+                results.add(result);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Sends the request from {@link #CONCURRENCY} virtual threads in a closed loop for the given duration.
+     *
+     * @param client   the http client
+     * @param request  the request to send
+     * @param blur     whether blurring is enabled, which decides the expected response body
+     * @param duration how long to send requests
+     * @return the latencies recorded by all clients
+     */
+    private Latencies run(HttpClient client, HttpRequest request, boolean blur, Duration duration) throws InterruptedException, ExecutionException {
+        var start = System.nanoTime();
+        var deadline = start + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Latencies>>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(executor.submit(() -> {
+                    var latencies = new Latencies();
+                    while (System.nanoTime() < deadline) {
+                        var begin = System.nanoTime();
+                        try {
+                            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            latencies.record(System.nanoTime() - begin, response.statusCode() == 200 && response.body().contains(BLURRED_EMAIL) == blur);
+                        } catch (IOException e) {
+                            latencies.record(System.nanoTime() - begin, false);
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+            var merged = new Latencies();
+            for (var future : futures) {
+                merged.merge(future.get());
+            }
+            merged.elapsed = System.nanoTime() - start;
+            return merged;
+        }
+    }
+
+    private List<String> emails(int size) {
+        return IntStream.range(0, size).mapToObj(i -> EMAIL).collect(Collectors.toList());
+    }
+
+    private Map<String, Person> persons(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toMap(i -> "allurx" + i, i -> new Person("12345678910", EMAIL), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * An endpoint driven by the harness.
+     *
+     * @param name    the scenario name used in the report
+     * @param path    the request path
+     * @param payload creates the request body of the given size
+     */
+    private record Scenario(String name, String path, IntFunction<Object> payload) {
+    }
+
+    /**
+     * The measured result of a scenario.
+     *
+     * @param scenario   the scenario name
+     * @param blur       whether blurring was enabled
+     * @param requests   the number of completed requests
+     * @param errors     the number of failed requests or unexpected response bodies
+     * @param throughput the completed requests per second
+     * @param p50Micros  the median latency in microseconds
+     * @param p99Micros  the 99th percentile latency in microseconds
+     * @param p999Micros the 99.9th percentile latency in microseconds
+     * @param maxMicros  the maximum latency in microseconds
+     */
+    record Result(String scenario, boolean blur, int requests, int errors, double throughput,
+                  long p50Micros, long p99Micros, long p999Micros, long maxMicros) {
+    }
+
+    /**
+     * The JSON report of a harness run.
+     *
+     * @param concurrency         the number of concurrent clients
+     * @param payloadSize         the number of elements of every request body
+     * @param warmUpSeconds       the warm-up duration of every scenario
+     * @param durationSeconds     the measured duration of every scenario
+     * @param javaVersion         the java runtime version
+     * @param availableProcessors the number of available processors
+     * @param results             the result of every scenario
+     */
+    record Report(int concurrency, int payloadSize, long warmUpSeconds, long durationSeconds,
+                  String javaVersion, int availableProcessors, List<Result> results) {
+    }
+
+    /**
+     * Latencies recorded by a single client, merged once all clients are done.
+     */
+    private static final class Latencies {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        private int errors;
+
+        private long elapsed;
+
+        void record(long latency, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size << 1);
+            }
+            nanos[size++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Latencies other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, size + other.size);
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        Result summarize(String scenario, boolean blur) {
+            var sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Result(scenario, blur, size, errors, size * 1e9 / elapsed,
+                    percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1000);
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1000;
+        }
+    }
+}
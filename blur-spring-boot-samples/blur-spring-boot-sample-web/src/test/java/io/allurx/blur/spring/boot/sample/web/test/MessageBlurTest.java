@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.messaging.MessageBlurService;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the MessageBlurService.
+ * This class verifies that only the payloads of messages are blurred and that their headers are reused.
+ *
+ * @author allurx
+ * @see MessageBlurService
+ */
+@SpringBootTest
+class MessageBlurTest {
+
+    @Autowired
+    private MessageBlurService messageBlurService;
+
+    /**
+     * Tests the blurring of a String payload.
+     */
+    @Test
+    void blurStringPayload() {
+        var message = MessageBuilder.withPayload("123456@qq.com").setHeader("type", "email").build();
+        var blurred = messageBlurService.publishEmail(message);
+        assertEquals("1*****@qq.com", blurred.getPayload());
+        assertSame(message.getHeaders(), blurred.getHeaders());
+    }
+
+    /**
+     * Tests the blurring of an object payload.
+     */
+    @Test
+    void blurObjectPayload() {
+        var message = MessageBuilder.withPayload(new Person("12345678910", "123456@qq.com")).build();
+        var blurred = messageBlurService.publishPerson(message);
+        assertEquals("123****8910", blurred.getPayload().getPhoneNumber());
+        assertEquals("1*****@qq.com", blurred.getPayload().getEmail());
+        assertSame(message.getHeaders(), blurred.getHeaders());
+    }
+
+    /**
+     * Tests the blurring of a batch of messages.
+     */
+    @Test
+    void blurMessageBatch() {
+        var messages = IntStream.range(0, 100)
+                .mapToObj(i -> MessageBuilder.withPayload("123456@qq.com").setHeader("index", i).build())
+                .toList();
+        var blurred = messageBlurService.publishEmails(messages);
+        assertEquals(messages.size(), blurred.size());
+        for (int i = 0; i < messages.size(); i++) {
+            assertEquals("1*****@qq.com", blurred.get(i).getPayload());
+            assertSame(messages.get(i).getHeaders(), blurred.get(i).getHeaders());
+        }
+    }
+
+}
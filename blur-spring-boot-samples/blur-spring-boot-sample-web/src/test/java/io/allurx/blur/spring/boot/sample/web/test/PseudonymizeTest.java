@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.controller.PseudonymizeController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the PseudonymizeController.
+ * This class verifies that pseudonyms are compact, deterministic and distinct for distinct values.
+ *
+ * @author allurx
+ * @see PseudonymizeController
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PseudonymizeTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    /**
+     * Tests that the same value always maps to the same pseudonym.
+     */
+    @Test
+    void pseudonymizeDeterministically() {
+        var first = restTemplate.getForObject("/pseudonymize/stringReturnValue?email={?}", String.class, "123456@qq.com");
+        var second = restTemplate.getForObject("/pseudonymize/stringReturnValue?email={?}", String.class, "123456@qq.com");
+        assertNotNull(first);
+        assertEquals(16, first.length());
+        assertEquals(first, second);
+        assertNotEquals("123456@qq.com", first);
+    }
+
+    /**
+     * Tests that distinct values map to distinct pseudonyms and equal values to equal ones.
+     */
+    @Test
+    void pseudonymizeCollectionReturnValue() throws URISyntaxException {
+        var body = restTemplate.exchange(
+                RequestEntity.post(new URI("/pseudonymize/collectionReturnValue"))
+                        .body(List.of("123456@qq.com", "654321@qq.com", "123456@qq.com")),
+                new ParameterizedTypeReference<List<String>>() {
+                }
+        ).getBody();
+        assertNotNull(body);
+        assertNotEquals(body.get(0), body.get(1));
+        assertEquals(body.get(0), body.get(2));
+        assertEquals(body.get(0), restTemplate.getForObject("/pseudonymize/stringReturnValue?email={?}", String.class, "123456@qq.com"));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.controller.RecordBlurController;
+import io.allurx.blur.spring.boot.sample.web.model.Customer;
+import io.allurx.blur.spring.boot.sample.web.model.Order;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the RecordBlurController.
+ * This class verifies that records are rebuilt with blurred components and returned as is when nothing changed.
+ *
+ * @author allurx
+ * @see RecordBlurController
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RecordBlurTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RecordBlurController recordBlurController;
+
+    /**
+     * Tests the blurring of a record.
+     */
+    @Test
+    void blurRecord() {
+        var customer = restTemplate.postForObject("/recordBlur/customer", new Customer(1, "12345678910", "123456@qq.com"), Customer.class);
+        assertEquals(new Customer(1, "123****8910", "1*****@qq.com"), customer);
+    }
+
+    /**
+     * Tests the blurring of records nested in a record, including a mutable object.
+     */
+    @Test
+    void blurNestedRecords() {
+        var order = new Order(
+                "order-1",
+                new Customer(1, "12345678910", "123456@qq.com"),
+                List.of(new Customer(2, "12345678910", "123456@qq.com")),
+                new Person("12345678910", "123456@qq.com")
+        );
+        var blurred = restTemplate.postForObject("/recordBlur/order", order, Order.class);
+        assertNotNull(blurred);
+        assertEquals("order-1", blurred.id());
+        assertEquals(new Customer(1, "123****8910", "1*****@qq.com"), blurred.customer());
+        assertEquals(List.of(new Customer(2, "123****8910", "1*****@qq.com")), blurred.recipients());
+        assertEquals("123****8910", blurred.payer().getPhoneNumber());
+        assertEquals("1*****@qq.com", blurred.payer().getEmail());
+    }
+
+    /**
+     * Tests the blurring of a list of records.
+     */
+    @Test
+    void blurRecordList() throws URISyntaxException {
+        var customers = LongStream.range(0, 100).mapToObj(id -> new Customer(id, "12345678910", "123456@qq.com")).toList();
+        var blurred = restTemplate.exchange(
+                RequestEntity.post(new URI("/recordBlur/customers")).body(customers),
+                new ParameterizedTypeReference<List<Customer>>() {
+                }
+        ).getBody();
+        assertEquals(LongStream.range(0, 100).mapToObj(id -> new Customer(id, "123****8910", "1*****@qq.com")).toList(), blurred);
+    }
+
+    /**
+     * Tests that a record none of whose components changed is returned as is.
+     */
+    @Test
+    void returnUnchangedRecord() {
+        var customer = new Customer(1, null, null);
+        assertSame(customer, recordBlurController.blurCustomer(customer));
+        var order = new Order("order-1", customer, null, null);
+        assertSame(order, recordBlurController.blurOrder(order));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.controller.RequestBodyBlurController;
+import io.allurx.blur.spring.boot.sample.web.model.Customer;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the RequestBodyBlurController with {@code blur.request-body-mode} set to {@code advice}.
+ * This class verifies that request bodies are blurred as they are read, and that direct calls are still blurred by the blur advisor.
+ *
+ * @author allurx
+ * @see RequestBodyBlurController
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "blur.request-body-mode=advice")
+class RequestBodyAdviceTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RequestBodyBlurController requestBodyBlurController;
+
+    /**
+     * Tests the blurring of an object request body.
+     */
+    @Test
+    void blurObjectBody() {
+        var person = restTemplate.postForObject("/requestBodyBlur/person", new Person("12345678910", "123456@qq.com"), Person.class);
+        assertNotNull(person);
+        assertEquals("123****8910", person.getPhoneNumber());
+        assertEquals("1*****@qq.com", person.getEmail());
+    }
+
+    /**
+     * Tests the blurring of an optional object request body, which is read unwrapped from its optional.
+     */
+    @Test
+    void blurOptionalObjectBody() {
+        var person = restTemplate.postForObject("/requestBodyBlur/optionalPerson", new Person("12345678910", "123456@qq.com"), Person.class);
+        assertNotNull(person);
+        assertEquals("123****8910", person.getPhoneNumber());
+        assertEquals("1*****@qq.com", person.getEmail());
+    }
+
+    /**
+     * Tests the blurring of a record request body.
+     */
+    @Test
+    void blurRecordBody() {
+        var customer = restTemplate.postForObject("/requestBodyBlur/customer", new Customer(1, "12345678910", "123456@qq.com"), Customer.class);
+        assertEquals(new Customer(1, "123****8910", "1*****@qq.com"), customer);
+    }
+
+    /**
+     * Tests the blurring of a collection request body.
+     */
+    @Test
+    void blurCollectionBody() throws URISyntaxException {
+        var emails = restTemplate.exchange(
+                RequestEntity.post(new URI("/requestBodyBlur/emails")).body(List.of("123456@qq.com", "654321@qq.com")),
+                new ParameterizedTypeReference<List<String>>() {
+                }
+        ).getBody();
+        assertEquals(List.of("1*****@qq.com", "6*****@qq.com"), emails);
+    }
+
+    /**
+     * Tests that the blur advisor still blurs the request body parameters of direct calls,
+     * whose arguments were never read by the request body advice.
+     */
+    @Test
+    void blurRequestBodiesOfDirectCalls() {
+        var person = requestBodyBlurController.receivePerson(new Person("12345678910", "123456@qq.com"));
+        assertEquals("123****8910", person.getPhoneNumber());
+        assertEquals("1*****@qq.com", person.getEmail());
+        assertEquals(List.of("1*****@qq.com"), requestBodyBlurController.receiveEmails(new ArrayList<>(List.of("123456@qq.com"))));
+    }
+
+}
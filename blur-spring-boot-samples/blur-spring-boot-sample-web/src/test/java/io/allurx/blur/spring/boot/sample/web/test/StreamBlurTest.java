@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.controller.StreamBlurController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the StreamBlurController.
+ * This class verifies that every streamed object is blurred, including those sent before the handler method returned.
+ *
+ * @author allurx
+ * @see StreamBlurController
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StreamBlurTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    /**
+     * Tests the blurring of server-sent events.
+     */
+    @Test
+    void blurServerSentEvents() {
+        var body = restTemplate.getForObject("/streamBlur/sse?count={?}", String.class, 100);
+        assertNotNull(body);
+        assertFalse(body.contains("12345678910"));
+        assertFalse(body.contains("123456@qq.com"));
+        assertEquals(100, body.lines().filter(line -> line.startsWith("data:")).count());
+        body.lines().filter(line -> line.startsWith("data:")).forEach(line -> {
+            assertTrue(line.contains("123****8910"));
+            assertTrue(line.contains("1*****@qq.com"));
+        });
+    }
+
+    /**
+     * Tests the blurring of the data of server-sent events built with an event builder, whose id and name are kept.
+     */
+    @Test
+    void blurServerSentEventBuilders() {
+        var body = restTemplate.getForObject("/streamBlur/events?count={?}", String.class, 10);
+        assertNotNull(body);
+        assertFalse(body.contains("12345678910"));
+        assertFalse(body.contains("123456@qq.com"));
+        assertEquals(10, body.lines().filter(line -> line.equals("event:person")).count());
+        assertTrue(body.lines().anyMatch(line -> line.equals("id:9")));
+        var data = body.lines().filter(line -> line.startsWith("data:")).toList();
+        assertEquals(10, data.size());
+        data.forEach(line -> {
+            assertTrue(line.contains("123****8910"));
+            assertTrue(line.contains("1*****@qq.com"));
+        });
+    }
+
+    /**
+     * Tests that a blurring emitter explicitly declared as needing no blurring sends every object as is,
+     * including those sent before the handler method returned, and completes.
+     */
+    @Test
+    void sendUnblurredServerSentEvents() {
+        var body = restTemplate.getForObject("/streamBlur/unblurred?count={?}", String.class, 10);
+        assertNotNull(body);
+        var data = body.lines().filter(line -> line.startsWith("data:")).toList();
+        assertEquals(10, data.size());
+        data.forEach(line -> assertTrue(line.contains("12345678910")));
+    }
+
+    /**
+     * Tests that a blurring emitter never bound to a blurred element type drops its objects, including those sent
+     * before the handler method returned, rather than sending them unblurred, and completes.
+     */
+    @Test
+    void dropObjectsOfUnboundEmitter() {
+        var body = Objects.requireNonNullElse(restTemplate.getForObject("/streamBlur/unbound?count={?}", String.class, 10), "");
+        assertFalse(body.contains("12345678910"));
+        assertFalse(body.contains("123456@qq.com"));
+        assertEquals(0, body.lines().filter(line -> line.startsWith("data:")).count());
+    }
+
+    /**
+     * Tests the blurring of objects streamed by a response body emitter.
+     */
+    @Test
+    void blurResponseBodyEmitter() {
+        var body = restTemplate.getForObject("/streamBlur/emitter?count={?}", String.class, 100);
+        assertNotNull(body);
+        var lines = body.split("\n");
+        assertEquals(100, lines.length);
+        Arrays.stream(lines).forEach(line -> assertEquals("1*****@qq.com", line));
+    }
+
+}
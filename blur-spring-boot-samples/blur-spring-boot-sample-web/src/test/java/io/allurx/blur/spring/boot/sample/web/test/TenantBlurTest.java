@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.config.BlurConfig;
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.RequestEntity;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the per-tenant blur policies.
+ * This class verifies that each tenant gets the policy configured under {@code blur.tenants}.
+ *
+ * @author allurx
+ * @see BlurConfig#tenantResolver()
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TenantBlurTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    /**
+     * Tests that requests without a tenant are fully blurred.
+     */
+    @Test
+    void blurWithoutTenant() throws URISyntaxException {
+        var person = post(null);
+        assertEquals("123****8910", person.getPhoneNumber());
+        assertEquals("1*****@qq.com", person.getEmail());
+    }
+
+    /**
+     * Tests that a tenant excluding {@code @Email} keeps emails untouched.
+     */
+    @Test
+    void blurWithExcludedAnnotation() throws URISyntaxException {
+        var person = post("partial");
+        assertEquals("123****8910", person.getPhoneNumber());
+        assertEquals("123456@qq.com", person.getEmail());
+    }
+
+    /**
+     * Tests that a tenant with blurring disabled gets the original values.
+     */
+    @Test
+    void blurDisabledForTenant() throws URISyntaxException {
+        var person = post("internal");
+        assertEquals("12345678910", person.getPhoneNumber());
+        assertEquals("123456@qq.com", person.getEmail());
+    }
+
+    /**
+     * Tests that an unknown tenant gets the default policy.
+     */
+    @Test
+    void blurWithUnknownTenant() throws URISyntaxException {
+        var person = post("unknown");
+        assertEquals("123****8910", person.getPhoneNumber());
+        assertEquals("1*****@qq.com", person.getEmail());
+    }
+
+    private Person post(String tenantId) throws URISyntaxException {
+        var request = RequestEntity.post(new URI("/responseEntityBlur/objectReturnValue"));
+        if (tenantId != null) {
+            request.header(BlurConfig.TENANT_ID_HEADER, tenantId);
+        }
+        var person = restTemplate.exchange(request.body(new Person("12345678910", "123456@qq.com")), Person.class).getBody();
+        assertNotNull(person);
+        return person;
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the blur path never pins the carrier thread of a virtual thread.
+ * This class serves the sample controllers on virtual threads while recording {@code jdk.VirtualThreadPinned}
+ * events, and fails if any pinning event originates from blur code.
+ * JFR only emits such an event when a pinned virtual thread parks or blocks, so monitors held without parking go
+ * unnoticed. It runs isolated from the concurrently executed test classes, whose virtual threads would otherwise
+ * be recorded too.
+ *
+ * @author allurx
+ */
+@Isolated
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final List<String> BLUR_PACKAGES = List.of("io.allurx.blur.", "io.allurx.annotation.parser.");
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private static final int REQUESTS = 500;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    /**
+     * Tests that concurrent requests to blurring controllers record no pinning event originating from blur code.
+     */
+    @Test
+    void blurPathDoesNotPinCarrierThreads() throws InterruptedException, ExecutionException {
+        var pinned = new ConcurrentLinkedQueue<String>();
+        try (var recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, event -> originatesFromBlur(event).ifPresent(pinned::add));
+            recording.startAsync();
+            List<Future<?>> requests;
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                requests = IntStream.range(0, REQUESTS).<Future<?>>mapToObj(i -> executor.submit(this::request)).toList();
+            }
+            for (var request : requests) {
+                request.get();
+            }
+            recording.stop();
+        }
+        assertTrue(pinned.isEmpty(), () -> "Carrier threads pinned by blur code:\n" + String.join("\n", pinned));
+    }
+
+    private void request() {
+        var emails = List.of("123456@qq.com", "123456@qq.com");
+        assertEquals(List.of("1*****@qq.com", "1*****@qq.com"), restTemplate.postForObject("/responseEntityBlur/collectionReturnValue", emails, List.class));
+        assertEquals(List.of("1*****@qq.com", "1*****@qq.com"), restTemplate.postForObject("/requestBodyBlur/emails", emails, List.class));
+        var person = restTemplate.postForObject("/responseEntityBlur/objectReturnValue", new Person("12345678910", "123456@qq.com"), Person.class);
+        assertEquals("123****8910", person.getPhoneNumber());
+        var pseudonyms = restTemplate.postForObject("/pseudonymize/collectionReturnValue", emails, List.class);
+        assertEquals(pseudonyms.get(0), pseudonyms.get(1));
+        assertNotEquals("123456@qq.com", pseudonyms.get(0));
+    }
+
+    /**
+     * Returns the stack trace of the given pinning event if its first frame outside the JDK belongs to blur code.
+     *
+     * @param event the pinning event
+     * @return the stack trace of the event, or empty if the pinning does not originate from blur code
+     */
+    private static Optional<String> originatesFromBlur(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return Optional.empty();
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .map(frame -> frame.getMethod().getType().getName())
+                .filter(type -> JDK_PACKAGES.stream().noneMatch(type::startsWith))
+                .findFirst()
+                .filter(type -> BLUR_PACKAGES.stream().anyMatch(type::startsWith))
+                .map(type -> frames.stream()
+                        .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n", Optional.ofNullable(event.getThread()).map(RecordedThread::getJavaName).orElse("") + "\n", "")));
+    }
+}
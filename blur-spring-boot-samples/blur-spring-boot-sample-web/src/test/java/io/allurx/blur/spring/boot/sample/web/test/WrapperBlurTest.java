@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 allurx
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.allurx.blur.spring.boot.sample.web.test;
+
+import io.allurx.blur.spring.boot.sample.web.model.Person;
+import io.allurx.blur.spring.boot.sample.web.wrapper.WrapperBlurService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the WrapperBlurService.
+ * This class verifies that the default wrapper types are blurred and reused when their payload is unchanged.
+ *
+ * @author allurx
+ * @see WrapperBlurService
+ */
+@SpringBootTest
+class WrapperBlurTest {
+
+    @Autowired
+    private WrapperBlurService wrapperBlurService;
+
+    /**
+     * Tests the blurring of an {@link Optional}.
+     */
+    @Test
+    void blurOptional() {
+        assertEquals(Optional.of("1*****@qq.com"), wrapperBlurService.blurOptional(Optional.of("123456@qq.com")));
+        var empty = Optional.<String>empty();
+        assertSame(empty, wrapperBlurService.blurOptional(empty));
+    }
+
+    /**
+     * Tests the blurring of an {@link HttpEntity}, keeping its headers.
+     */
+    @Test
+    void blurHttpEntity() {
+        var headers = new HttpHeaders();
+        headers.add("X-Trace-Id", "1");
+        var blurred = wrapperBlurService.blurHttpEntity(new HttpEntity<>("123456@qq.com", headers));
+        assertEquals("1*****@qq.com", blurred.getBody());
+        assertEquals("1", blurred.getHeaders().getFirst("X-Trace-Id"));
+    }
+
+    /**
+     * Tests the blurring of a {@link RequestEntity} created from a URI template.
+     */
+    @Test
+    void blurRequestEntity() {
+        var entity = RequestEntity.post("/persons/{id}", 1).header("X-Trace-Id", "1").body("123456@qq.com");
+        var blurred = wrapperBlurService.blurRequestEntity(entity);
+        assertEquals("1*****@qq.com", blurred.getBody());
+        assertEquals(entity.getMethod(), blurred.getMethod());
+        assertEquals("1", blurred.getHeaders().getFirst("X-Trace-Id"));
+        var template = assertInstanceOf(RequestEntity.UriTemplateRequestEntity.class, blurred);
+        assertEquals("/persons/{id}", template.getUriTemplate());
+    }
+
+    /**
+     * Tests that a {@link ResponseEntity} whose body is blurred in place is reused.
+     */
+    @Test
+    void reuseResponseEntity() {
+        var entity = ResponseEntity.ok(new Person("12345678910", "123456@qq.com"));
+        var blurred = wrapperBlurService.blurResponseEntity(entity);
+        assertSame(entity, blurred);
+        assertEquals("123****8910", blurred.getBody().getPhoneNumber());
+        assertEquals("1*****@qq.com", blurred.getBody().getEmail());
+    }
+
+    /**
+     * Tests the blurring of an {@link EntityModel}, keeping its links.
+     */
+    @Test
+    void blurEntityModel() {
+        var blurred = wrapperBlurService.blurEntityModel(EntityModel.of("123456@qq.com", Link.of("/persons/1")));
+        assertEquals("1*****@qq.com", blurred.getContent());
+        assertEquals(Link.of("/persons/1"), blurred.getRequiredLink("self"));
+    }
+
+}
@@ -20,10 +20,17 @@
  */
 module io.allurx.blur.spring.boot.sample.web.test {
     requires io.allurx.blur.spring.boot.sample.web;
+    requires io.allurx.blur.spring.boot.autoconfigure;
+    requires com.fasterxml.jackson.databind;
+    requires java.net.http;
+    requires jdk.jfr;
     requires org.junit.jupiter.api;
+    requires spring.aop;
     requires spring.beans;
     requires spring.boot.test;
     requires spring.core;
+    requires spring.hateoas;
+    requires spring.messaging;
     requires spring.web;
     requires spring.boot;
     requires spring.test;